@@ -2,15 +2,19 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.5"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "click.dailyfeed"
 version = "0.0.1-SNAPSHOT"
 description = "😊😊😊"
 
+// 가상 스레드 모드는 Java 21+ 필요: ./gradlew build -PjavaVersion=21
+val javaVersion = (findProperty("javaVersion") ?: "17").toString().toInt()
+
 java {
 	toolchain {
-		languageVersion = JavaLanguageVersion.of(17)
+		languageVersion = JavaLanguageVersion.of(javaVersion)
 	}
 }
 
@@ -34,9 +38,15 @@ dependencies {
 	// micrometer & prometheus
 	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
+	// caffeine (thumbnail cache)
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
 	// thumbnailator
 	implementation("net.coobird:thumbnailator:0.4.20")
 
+	// webp (ImageIO 플러그인, linux/mac/windows libwebp 네이티브 라이브러리 포함)
+	implementation("org.sejda.imageio:webp-imageio:0.1.6")
+
 	// lombok
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
@@ -44,8 +54,49 @@ dependencies {
 	// test
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	// jmh (MockMultipartFile 로 업로드 경로를 그대로 호출)
+	jmhImplementation("org.springframework:spring-test")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.named<Test>("test") {
+	useJUnitPlatform {
+		excludeTags("load")
+	}
+}
+
+// 부하 테스트 (view 엔드포인트 처리량/p99 비교): ./gradlew loadTest -PjavaVersion=21 -Pload.seconds=30
+tasks.register<Test>("loadTest") {
+	description = "Runs load tests tagged with 'load'."
+	group = "verification"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	listOf("load.concurrency", "load.warmup-seconds", "load.seconds").forEach { key ->
+		findProperty(key)?.let { systemProperty(key, it) }
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+}
+
+// 업로드/조회 핫패스 마이크로벤치마크 (src/jmh, 코퍼스: src/test/resources/sample_images)
+// ./gradlew jmh -Pjmh.includes=UploadPath
+// 결과는 build/results/jmh/results.json (커밋 간 비교용), gc 프로파일러로 할당률(gc.alloc.rate.norm)도 기록
+jmh {
+	jmhVersion = "1.37"
+	includes = listOf((findProperty("jmh.includes") ?: ".*").toString())
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	jvmArgsAppend = listOf("-Dbenchmark.corpus=${projectDir}/src/test/resources/sample_images")
+}
@@ -0,0 +1,79 @@
+package click.dailyfeed.image.jmh;
+
+import click.dailyfeed.image.ImageApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/// 벤치마크 공통: 샘플 이미지 코퍼스(-Dbenchmark.corpus)와 테스트 프로파일과 같은 설정의 애플리케이션 컨텍스트
+final class BenchmarkImages {
+
+    static final int MAX_WIDTH = 350;
+    static final int MAX_HEIGHT = 350;
+    static final int THUMBNAIL_SIZE = 150;
+    static final double QUALITY = 0.85;
+
+    private static final String CORPUS_PROPERTY = "benchmark.corpus";
+
+    private BenchmarkImages() {
+    }
+
+    /// 코퍼스의 모든 이미지 (파일 이름 순)
+    static List<MockMultipartFile> loadCorpus() throws IOException {
+        Path corpus = Paths.get(System.getProperty(CORPUS_PROPERTY, "src/test/resources/sample_images"));
+        try (Stream<Path> files = Files.list(corpus)) {
+            List<Path> images = files
+                    .filter(path -> path.getFileName().toString().endsWith(".png"))
+                    .sorted(Comparator.comparing(Path::toString))
+                    .toList();
+            if (images.isEmpty()) {
+                throw new IllegalStateException("No sample images in " + corpus.toAbsolutePath());
+            }
+
+            List<MockMultipartFile> samples = new ArrayList<>();
+            for (Path image : images) {
+                String name = image.getFileName().toString();
+                samples.add(new MockMultipartFile("image", name, MediaType.IMAGE_PNG_VALUE, Files.readAllBytes(image)));
+            }
+            return samples;
+        }
+    }
+
+    /// 업로드 루트만 임시 디렉토리로 바꾼 컨텍스트. 측정이 흔들리지 않도록 썸네일은 동기 생성, 중복 제거는 끈다
+    static ConfigurableApplicationContext startContext(Path uploadRoot) {
+        return new SpringApplicationBuilder(ImageApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "images.upload-root=" + uploadRoot,
+                        "images.max-width=" + MAX_WIDTH,
+                        "images.max-height=" + MAX_HEIGHT,
+                        "images.thumbnail-size=" + THUMBNAIL_SIZE,
+                        "images.quality=" + QUALITY,
+                        "images.derived-queue.enabled=false",
+                        "images.dedup.enabled=false"
+                )
+                .run();
+    }
+
+    static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package click.dailyfeed.image.jmh;
+
+import click.dailyfeed.image.domain.file.service.FileService;
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// 업로드 경로 단계별 비용: 시그니처 검증 → 디코딩(+리사이즈) → 원본 인코딩 / 썸네일 인코딩, 그리고 한 건 전체(processUpload)
+/// 호출마다 코퍼스의 다음 이미지를 사용하므로 결과는 코퍼스 전체 평균이다
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class UploadPathBenchmark {
+
+    private Path uploadRoot;
+    private ConfigurableApplicationContext context;
+    private FileService fileService;
+
+    private List<MockMultipartFile> samples;
+    private BufferedImage[] masters;
+    private ImageFormat[] masterFormats;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadRoot = Files.createTempDirectory("jmh-upload-");
+        context = BenchmarkImages.startContext(uploadRoot);
+        fileService = context.getBean(FileService.class);
+        samples = BenchmarkImages.loadCorpus();
+
+        // 인코딩 단계는 업로드와 같은 방식으로 미리 디코딩한 원본 래스터로 측정
+        masters = new BufferedImage[samples.size()];
+        masterFormats = new ImageFormat[samples.size()];
+        for (int i = 0; i < samples.size(); i++) {
+            BufferedImage master = decode(samples.get(i));
+            masterFormats[i] = fileService.resolveMasterFormat(master);
+            masters[i] = masterFormats[i] == ImageFormat.JPEG ? fileService.toOpaqueOrSelf(master) : master;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        BenchmarkImages.deleteRecursively(uploadRoot);
+    }
+
+    @Benchmark
+    public InputStream validateSignature() throws IOException {
+        try (InputStream in = fileService.openImageStreamOrThrow(samples.get(next()))) {
+            return in;
+        }
+    }
+
+    @Benchmark
+    public BufferedImage decodeResized() throws IOException {
+        return decode(samples.get(next()));
+    }
+
+    @Benchmark
+    public byte[] encodeMaster() {
+        int i = next();
+        return fileService.encodeImageOrThrow(masters[i], masterFormats[i], BenchmarkImages.QUALITY);
+    }
+
+    @Benchmark
+    public byte[] encodeThumbnail() {
+        int i = next();
+        return fileService.encodeThumbnailOrThrow(
+                masters[i], masterFormats[i],
+                BenchmarkImages.THUMBNAIL_SIZE, BenchmarkImages.THUMBNAIL_SIZE, BenchmarkImages.QUALITY
+        );
+    }
+
+    /// 업로드 한 건의 디코딩 → 리사이즈 → 원본/썸네일 인코딩. 래스터를 업로드처럼 반환하므로
+    /// -prof gc 의 gc.alloc.rate.norm 이 업로드당 할당량(reader/writer/래스터 재사용 효과)을 보여준다
+    @Benchmark
+    public int processUpload() throws IOException {
+        MockMultipartFile sample = samples.get(next());
+        BufferedImage decoded = fileService.decodeSubsampledOrThrow(
+                new ByteArrayInputStream(sample.getBytes()), BenchmarkImages.MAX_WIDTH, BenchmarkImages.MAX_HEIGHT
+        );
+        BufferedImage resized = fileService.resizeOrThrow(decoded, BenchmarkImages.MAX_WIDTH, BenchmarkImages.MAX_HEIGHT);
+        ImageFormat masterFormat = fileService.resolveMasterFormat(resized);
+        BufferedImage master = masterFormat == ImageFormat.JPEG ? fileService.toOpaqueOrSelf(resized) : resized;
+        try {
+            byte[] masterBytes = fileService.encodeImageOrThrow(master, masterFormat, BenchmarkImages.QUALITY);
+            byte[] thumbnailBytes = fileService.encodeThumbnailOrThrow(
+                    master, masterFormat,
+                    BenchmarkImages.THUMBNAIL_SIZE, BenchmarkImages.THUMBNAIL_SIZE, BenchmarkImages.QUALITY
+            );
+            return masterBytes.length + thumbnailBytes.length;
+        } finally {
+            fileService.releaseScratch(decoded, resized, master);
+        }
+    }
+
+    /// helpers ///
+
+    private BufferedImage decode(MockMultipartFile sample) throws IOException {
+        return fileService.decodeResizedOrThrow(
+                new ByteArrayInputStream(sample.getBytes()), BenchmarkImages.MAX_WIDTH, BenchmarkImages.MAX_HEIGHT
+        );
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) % samples.size();
+        return i;
+    }
+}
@@ -0,0 +1,84 @@
+package click.dailyfeed.image.jmh;
+
+import click.dailyfeed.image.domain.image.dto.ImageContent;
+import click.dailyfeed.image.domain.image.service.ProfileImageStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// 조회 경로 비용: ProfileImageStorageService.get 으로 원본/썸네일을 찾아 본문을 끝까지 읽는다
+/// (HTTP 계층 제외. 썸네일은 첫 회 이후 인메모리 캐시 적중)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ViewPathBenchmark {
+
+    private Path uploadRoot;
+    private ConfigurableApplicationContext context;
+    private ProfileImageStorageService imageService;
+
+    private String[] imageIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadRoot = Files.createTempDirectory("jmh-view-");
+        context = BenchmarkImages.startContext(uploadRoot);
+        imageService = context.getBean(ProfileImageStorageService.class);
+
+        List<MockMultipartFile> samples = BenchmarkImages.loadCorpus();
+        imageIds = new String[samples.size()];
+        for (int i = 0; i < samples.size(); i++) {
+            imageIds[i] = imageService.store(samples.get(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        BenchmarkImages.deleteRecursively(uploadRoot);
+    }
+
+    @Benchmark
+    public long getOriginal() throws IOException {
+        return read(imageService.get(imageIds[next()], false, null));
+    }
+
+    @Benchmark
+    public long getThumbnail() throws IOException {
+        return read(imageService.get(imageIds[next()], true, null));
+    }
+
+    /// helpers ///
+
+    private long read(ImageContent content) throws IOException {
+        if (content == null) {
+            throw new IllegalStateException("Stored benchmark image not found");
+        }
+        try (InputStream in = content.resource().getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) % imageIds.length;
+        return i;
+    }
+}
@@ -0,0 +1,38 @@
+package click.dailyfeed.image.config.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/// 일괄 삭제 전용 풀 (파일/저장소 I/O 대기 위주라 이미지 처리 풀과 분리)
+/// 큐가 가득 차면 거부(AbortPolicy) → ImageDeleteService 가 503 또는 항목별 FAILED 로 응답 (서블릿 스레드에서 삭제하지 않는다)
+@Configuration
+public class ImageDeleteExecutorConfig {
+
+    @Value("${images.delete.pool-size:4}")
+    private int poolSize;
+
+    @Value("${images.delete.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService imageDeleteExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("image-delete-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "image.delete");
+    }
+}
@@ -0,0 +1,42 @@
+package click.dailyfeed.image.config.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/// 리사이즈/인코딩 같은 CPU 작업 전용 풀
+/// 톰캣 요청 스레드와 분리하고, 큐가 가득 차면 즉시 거부(AbortPolicy)해 503 으로 응답한다
+/// spring.threads.virtual.enabled 가 켜져 있어도 이 풀은 코어 수 기준의 플랫폼 스레드를 유지한다
+@Configuration
+public class ImageProcessingExecutorConfig {
+
+    @Value("${images.processing.pool-size:0}") // 0 이면 CPU 코어 수
+    private int poolSize;
+
+    @Value("${images.processing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService imageProcessingExecutor(MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("image-processing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // executor.queued / executor.idle(대기 시간) / executor(실행 시간) 등을 Prometheus 로 노출
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "image.processing");
+    }
+}
@@ -0,0 +1,29 @@
+package click.dailyfeed.image.domain.file.api;
+
+import click.dailyfeed.image.domain.file.service.ImageLayoutMigrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+/// 저장소 배치 마이그레이션 운영 엔드포인트 (JMX 전용, org.springframework.boot:type=Endpoint,name=Imagelayout)
+/// status : 진행 상태, migrate : 백그라운드 실행
+/// 모든 저장 파일을 옮기는 쓰기 작업이므로 인증 없는 HTTP(actuator web)로는 노출하지 않는다
+@Component
+@JmxEndpoint(id = "imagelayout")
+@RequiredArgsConstructor
+public class ImageLayoutMigrationEndpoint {
+    private final ImageLayoutMigrationService imageLayoutMigrationService;
+
+    @ReadOperation
+    public ImageLayoutMigrationService.MigrationStatus status() {
+        return imageLayoutMigrationService.status();
+    }
+
+    @WriteOperation
+    public ImageLayoutMigrationService.MigrationStatus migrate() {
+        imageLayoutMigrationService.startAsync();
+        return imageLayoutMigrationService.status();
+    }
+}
@@ -1,7 +1,10 @@
 package click.dailyfeed.image.domain.file.service;
 
 import click.dailyfeed.code.domain.image.exception.*;
-import click.dailyfeed.code.domain.image.type.ImageExtensionType;
+import click.dailyfeed.image.domain.image.exception.ImagePixelLimitExceededException;
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
@@ -11,7 +14,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.FileCacheImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -19,8 +32,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -30,6 +51,29 @@ public class FileService {
     @Value("${images.max-file-size:10485760}") // 1MB default
     private long maxFileSize;
 
+    @Value("${images.max-pixels:50000000}") // 50MP default
+    private long maxPixels;
+
+    @Value("${images.subsampled-decode:true}")
+    private boolean subsampledDecode;
+
+    @Value("${images.fast-path.enabled:true}")
+    private boolean fastPathEnabled;
+
+    @Value("${images.fast-path.max-bytes:262144}") // 256KB default
+    private long fastPathMaxBytes;
+
+    private final ImageMetadataStripper imageMetadataStripper;
+    private final MeterRegistry meterRegistry;
+    private final ImageCodecPool imageCodecPool;
+    private final ScratchRasterPool scratchRasterPool;
+
+    // fast path 결과별 카운터 (업로드마다 등록하지 않도록 reason 당 한 번만 생성)
+    private final Map<String, Counter> fastPathCounters = new ConcurrentHashMap<>();
+
+    // 서브샘플링 디코딩 시 목표 크기 대비 남겨둘 배율 (최종 리사이즈 품질 확보용)
+    private static final int SUBSAMPLING_OVERSAMPLE = 2;
+
     // 지원되는 이미지 포맷
     private static final Set<String> SUPPORTED_FORMATS = Set.of(
             "image/jpeg", "image/jpg", "image/png", "image/webp", "image/bmp", "image/gif"
@@ -42,6 +86,10 @@ public class FileService {
     private static final byte[] WEBP_SIGNATURE = {0x52, 0x49, 0x46, 0x46}; // "RIFF"
     private static final byte[] BMP_SIGNATURE = {0x42, 0x4D}; // "BM"
 
+    // 시그니처 검증용 peek 길이 (가장 긴 시그니처에 맞춰 설정)
+    private static final int SIGNATURE_PEEK_SIZE = 12;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
 
     public void validateFile(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
@@ -64,24 +112,103 @@ public class FileService {
         if (contentType == null || !SUPPORTED_FORMATS.contains(contentType.toLowerCase())) {
             throw new IllegalArgumentException("Unsupported file format: " + contentType);
         }
+    }
 
-        // 파일 시그니처 검증 (실제 이미지 파일인지 확인)
-        validateImageSignature(file);
-        log.debug("File signature validation passed");
+    /// 업로드 스트림을 한 번만 열고, 앞부분(peek 버퍼)만으로 시그니처를 검증한 뒤 같은 스트림을 반환
+    /// 반환된 스트림은 디코더에 그대로 전달되므로 업로드 전체를 힙(byte[])에 복사하지 않는다
+    public InputStream openImageStreamOrThrow(MultipartFile file) throws IOException {
+        InputStream inputStream = new BufferedInputStream(file.getInputStream(), STREAM_BUFFER_SIZE);
+        try {
+            // 파일 시그니처 검증 (실제 이미지 파일인지 확인)
+            validateImageSignature(inputStream);
+            log.debug("File signature validation passed");
+            return inputStream;
+        } catch (RuntimeException | IOException e) {
+            inputStream.close();
+            throw e;
+        }
     }
 
-    public Path createDirectories(String imageRoot) throws IOException {
-        Path imageDir = Paths.get(imageRoot);
-        Files.createDirectories(imageDir);
-        return imageDir;
+    /// 업로드 내용의 SHA-256 (hex). 업로드를 버퍼 단위로 흘려 읽으며 계산하므로 전체를 힙에 올리지 않는다
+    public String digestOrThrow(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        try (InputStream inputStream = file.getInputStream()) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
 
-    public File resolveFileOrThrow(Path imageDir, String fileName, ImageExtensionType imageExtensionType) throws IOException {
-        return imageDir.resolve(imageExtensionType.withFileName(fileName)).toFile();
+    /// 이미 저장 규격(maxWidth x maxHeight, fast-path.max-bytes) 안에 드는 JPEG/PNG 업로드는
+    /// 디코딩/리사이즈/재인코딩 없이 구조 검증과 메타데이터 제거만 거쳐 원래 포맷 그대로 저장한다.
+    /// 조건을 만족하지 않으면 스트림을 되감고 null 을 반환한다 (일반 경로에서 같은 스트림을 그대로 사용)
+    /// 구조 검증은 압축 데이터(JPEG 엔트로피 구간, PNG IDAT)를 풀어보지 않으므로, 업로드 중에 디코딩하지 않는 호출자
+    /// (썸네일 작업 큐 사용 시)는 verifyDecode 로 한 번 디코딩해 본다. 실패하면 일반 경로로 넘긴다
+    public FastPathImage tryFastPathOrNull(
+            InputStream imageStream, long size, int maxWidth, int maxHeight, boolean verifyDecode
+    ) throws IOException {
+        if (!fastPathEnabled) {
+            return fastPathMiss("disabled");
+        }
+        if (size <= 0 || size > fastPathMaxBytes) {
+            return fastPathMiss("bytes");
+        }
+
+        ImageFormat format = peekStoredFormat(imageStream);
+        if (format == null) {
+            return fastPathMiss("format");
+        }
+
+        // 크기 상한이 작으므로 업로드 전체를 mark 버퍼에 담아 두고, 미스면 되감는다
+        imageStream.mark((int) size + 1);
+        boolean hit = false;
+        try {
+            byte[] bytes = imageStream.readNBytes((int) size + 1);
+            if (bytes.length > size) {
+                return fastPathMiss("bytes");
+            }
+
+            if (!fitsWithin(bytes, maxWidth, maxHeight)) {
+                return fastPathMiss("dimensions");
+            }
+
+            byte[] stripped;
+            try {
+                stripped = format == ImageFormat.JPEG
+                        ? imageMetadataStripper.stripJpegOrThrow(bytes)
+                        : imageMetadataStripper.stripPngOrThrow(bytes);
+            } catch (CorruptedImageException e) {
+                log.debug("Fast path structural validation failed - format: {}", format);
+                return fastPathMiss("structure");
+            }
+
+            if (verifyDecode && !isDecodable(stripped)) {
+                log.debug("Fast path decode verification failed - format: {}", format);
+                return fastPathMiss("decode");
+            }
+
+            hit = true;
+            fastPathCounter("hit", "none").increment();
+            log.debug("Fast path hit - format: {}, bytes: {} -> {}", format, bytes.length, stripped.length);
+            return new FastPathImage(format, stripped);
+        } finally {
+            if (!hit) {
+                imageStream.reset();
+            }
+        }
     }
 
-    public Path resolvePathOrThrow(String imageDir, String fileName, ImageExtensionType imageExtensionType) throws IOException {
-        return Paths.get(imageDir).resolve(imageExtensionType.withFileName(fileName));
+    /// 크기 변경 없이 그대로 저장할 수 있는 업로드 (메타데이터 제거됨)
+    public record FastPathImage(ImageFormat format, byte[] bytes) {
     }
 
     /// 절대 경로 반환 (경로 순회 방지)
@@ -89,62 +216,177 @@ public class FileService {
         return path.normalize();
     }
 
-    public void createThumbnailOriginalOrThrow(
-            MultipartFile file, File outputFile, ImageExtensionType extensionType,
-            int maxWidth, int maxHeight, Double quality
-    ) throws IOException {
-        log.debug("Processing original image - Name: {}, Size: {}, ContentType: {}, Output: {}",
-                file.getOriginalFilename(), file.getSize(), file.getContentType(), outputFile.getAbsolutePath());
+    /// 원본 이미지를 한 번만 디코딩해 maxWidth x maxHeight 안으로 리사이즈한 래스터를 반환한다.
+    /// 반환된 래스터로 원본/썸네일 등을 만들면 디스크 재읽기/재디코딩이 필요 없다.
+    public BufferedImage decodeResizedOrThrow(InputStream imageStream, int maxWidth, int maxHeight) {
+        BufferedImage decoded = decodeSubsampledOrThrow(imageStream, maxWidth, maxHeight);
+        BufferedImage resized = resizeOrThrow(decoded, maxWidth, maxHeight);
+        if (resized != decoded) {
+            scratchRasterPool.release(decoded);
+        }
+        return resized;
+    }
 
+    /// 목표 해상도(maxWidth x maxHeight)에 가깝게 서브샘플링 디코딩 (최종 리사이즈는 resizeOrThrow)
+    /// 반환된 래스터는 재사용 풀에서 온 것일 수 있으며, 다 쓴 뒤 releaseScratch 로 돌려주면 다음 디코딩이 재사용한다
+    public BufferedImage decodeSubsampledOrThrow(InputStream imageStream, int maxWidth, int maxHeight) {
         try {
-            // 바이트 배열로 읽어서 처리 (InputStream 재사용 문제 방지)
-            byte[] imageBytes = file.getBytes();
-            log.debug("Read {} bytes from file", imageBytes.length);
-
-            if (imageBytes.length == 0) {
-                throw new EmptyImageFileException();
-            }
-
-            // ImageIO를 사용한 대체 방법 시도
-            try (ByteArrayInputStream bais = new ByteArrayInputStream(imageBytes)) {
-                BufferedImage image = ImageIO.read(bais);
-                if (image == null) {
-                    log.error("ImageIO.read() returned null - file may not be a valid image");
-                    throw new CorruptedImageException();
+            // 스트림을 그대로 디코더에 연결하고, 되감기가 필요한 부분은 힙 대신 임시 파일에 스풀링
+            try (ImageInputStream iis = new FileCacheImageInputStream(imageStream, ImageIO.getCacheDirectory())) {
+                ImageReader reader = imageCodecPool.borrowReaderOrThrow(iis);
+                BufferedImage image;
+                try {
+                    // 헤더만 읽어 크기를 확인하고, 픽셀 한도를 넘으면 래스터 할당 전에 거부
+                    int width = reader.getWidth(0);
+                    int height = reader.getHeight(0);
+                    validatePixelsOrThrow(width, height);
+
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    int subsampling = subsampledDecode
+                            ? resolveSubsampling(width, height, maxWidth, maxHeight)
+                            : 1;
+                    if (subsampling > 1) {
+                        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                        log.debug("Subsampled decode - factor: {}, source: {}x{}", subsampling, width, height);
+                    }
+                    setScratchDestination(reader, param,
+                            (width + subsampling - 1) / subsampling, (height + subsampling - 1) / subsampling);
+
+                    image = reader.read(0, param);
+                } finally {
+                    imageCodecPool.release(reader);
                 }
                 log.debug("ImageIO successfully read image: width={}, height={}", image.getWidth(), image.getHeight());
+                return image;
+            }
+        } catch (ImagePixelLimitExceededException | CorruptedImageException e) {
+            // 클라이언트 입력 문제는 처리 실패(500)로 바꾸지 않고 그대로 전달
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to process original image: {}", e.getMessage(), e);
+            throw new ImageProcessingFailException();
+        }
+    }
+
+    /// Thumbnailator 로 고품질 리사이즈 (인코딩은 포맷 결정 후 encodeImageOrThrow 에서 한 번만)
+    public BufferedImage resizeOrThrow(BufferedImage image, int maxWidth, int maxHeight) {
+        try {
+            return Thumbnails.of(image)
+                    .size(maxWidth, maxHeight)
+                    .asBufferedImage();
+        } catch (Exception e) {
+            log.error("Failed to resize image: {}", e.getMessage(), e);
+            throw new ImageProcessingFailException();
+        }
+    }
 
-                // Thumbnailator로 처리
-                Thumbnails.of(image)
-                        .size(maxWidth, maxHeight)
-                        .outputQuality(quality)
-                        .outputFormat(extensionType.getExtension().toLowerCase())
-                        .toFile(outputFile);
+    /// 이미 작은 이미지를 리사이즈 없이 디코딩 (fast path/저장본 썸네일, 변형 이미지 생성용)
+    /// 바이트가 이미 힙에 있으므로 메모리 캐시 스트림으로 읽는다 (ImageIO.read 의 임시 파일 캐시 없음)
+    public BufferedImage decodeOrThrow(byte[] bytes) {
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(bytes))) {
+            ImageReader reader = imageCodecPool.borrowReaderOrThrow(iis);
+            try {
+                ImageReadParam param = reader.getDefaultReadParam();
+                setScratchDestination(reader, param, reader.getWidth(0), reader.getHeight(0));
+                return reader.read(0, param);
+            } finally {
+                imageCodecPool.release(reader);
             }
+        } catch (CorruptedImageException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to decode image: {}", e.getMessage(), e);
+            throw new ImageProcessingFailException();
+        }
+    }
 
-            log.debug("Successfully created original image at: {}", outputFile.getAbsolutePath());
+    /// 저장 포맷 결정: 실제로 투명한 픽셀이 있으면 PNG, 아니면 JPEG (quality 가 적용되는 손실 압축)
+    /// 알파 채널이 있어도 모두 불투명이면 JPEG 로 저장한다 (스크린샷 PNG 등)
+    public ImageFormat resolveMasterFormat(BufferedImage image) {
+        return hasTransparency(image) ? ImageFormat.PNG : ImageFormat.JPEG;
+    }
+
+    /// JPEG 인코더는 알파 채널을 받지 않으므로 불투명 RGB 래스터로 옮긴다 (대상 래스터는 재사용 풀에서)
+    public BufferedImage toOpaqueOrSelf(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        BufferedImage opaque = scratchRasterPool.acquire(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = opaque.createGraphics();
+        try {
+            // 재사용한 래스터의 이전 내용 위에 합성되지 않도록 새 래스터와 같은 검은 바탕에서 시작
+            graphics.setColor(Color.BLACK);
+            graphics.fillRect(0, 0, opaque.getWidth(), opaque.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return opaque;
+    }
+
+    /// 이미 리사이즈된 래스터를 추가 리사이즈/복사 없이 한 번만 인코딩 (기록은 ObjectStorage 가 맡는다)
+    public byte[] encodeImageOrThrow(BufferedImage image, ImageFormat imageFormat, Double quality) {
+        try {
+            return encodeOrThrow(image, imageFormat, quality);
         } catch (Exception e) {
-            log.error("Failed to process original image: {}", e.getMessage(), e);
+            log.error("Failed to encode image as {}", imageFormat, e);
             throw new ImageProcessingFailException();
         }
     }
 
-    public void createThumbnailOrThrow(
-            File file, File outputFile, ImageExtensionType extensionType,
+    /// 이미 디코딩된 래스터로부터 썸네일 생성 (디스크 재읽기 없음)
+    /// 인코딩 결과만 반환하고, 기록은 썸네일 저장소(ThumbnailStore)가 맡는다
+    public byte[] encodeThumbnailOrThrow(
+            BufferedImage source, ImageFormat imageFormat,
             int maxWidth, int maxHeight, Double quality
-    ) throws IOException {
+    ) {
         try {
-            Thumbnails.of(file)
+            BufferedImage thumbnail = Thumbnails.of(source)
                     .crop(Positions.CENTER)
                     .size(maxWidth, maxHeight)
-                    .outputQuality(quality)
-                    .outputFormat(extensionType.getExtension().toLowerCase())
-                    .toFile(outputFile);
+                    .asBufferedImage();
+            return encodeOrThrow(thumbnail, imageFormat, quality);
         } catch (Exception e) {
             throw new ImageProcessingFailException();
         }
     }
 
+    /// 저장된 원본(master)으로부터 변형 이미지 생성
+    /// 임시 파일에 쓴 뒤 원자적으로 이동해, 동시에 읽는 쪽에 부분 파일이 보이지 않게 한다
+    public byte[] createVariantOrThrow(
+            byte[] source, File outputFile, ImageFormat imageFormat,
+            int width, int height, boolean crop, Double quality
+    ) {
+        BufferedImage decoded = decodeOrThrow(source);
+        try {
+            Thumbnails.Builder<BufferedImage> builder = Thumbnails.of(decoded).size(width, height);
+            if (crop) {
+                builder.crop(Positions.CENTER);
+            }
+            return encodeAndMoveOrThrow(builder.asBufferedImage(), outputFile, imageFormat, quality);
+        } catch (IOException e) {
+            log.error("Failed to resize image variant: {}", outputFile.getAbsolutePath(), e);
+            throw new ImageProcessingFailException();
+        } finally {
+            scratchRasterPool.release(decoded);
+        }
+    }
+
+    /// 저장된 이미지를 크기 변경 없이 다른 포맷으로 변환 (WebP 응답용)
+    public byte[] transcodeOrThrow(byte[] source, File outputFile, ImageFormat imageFormat, Double quality) {
+        BufferedImage decoded = decodeOrThrow(source);
+        try {
+            return encodeAndMoveOrThrow(decoded, outputFile, imageFormat, quality);
+        } finally {
+            scratchRasterPool.release(decoded);
+        }
+    }
+
+    /// 디코딩/불투명 변환에 쓴 래스터를 재사용 풀에 반환 (더 참조하지 않을 때 한 번만, 같은 인스턴스 중복은 무시)
+    public void releaseScratch(BufferedImage... images) {
+        scratchRasterPool.release(images);
+    }
+
     public void cleanUpFileOrThrow(File... files){
         for (File file : files) {
             if (file != null && file.exists()) {
@@ -158,47 +400,227 @@ public class FileService {
         }
     }
 
+    /// 디렉토리와 하위 파일을 모두 삭제 (실패는 로그만 남김)
+    public void cleanUpDirectoryOrThrow(Path directory) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(path -> cleanUpFileOrThrow(path.toFile()));
+        } catch (Exception e) {
+            log.warn("Failed to cleanup directory: {}", directory, e);
+        }
+    }
+
     /// helpers ///
 
-    private void validateImageSignature(MultipartFile file) throws IOException {
-        try (InputStream inputStream = file.getInputStream()) {
-            byte[] header = new byte[12]; // 가장 긴 시그니처에 맞춰 설정
-            int bytesRead = inputStream.read(header);
+    /// 기본 디코딩 대상 타입이 재사용 가능한 표준 타입이면 풀의 래스터에 바로 디코딩 (새 래스터 할당 없음)
+    /// 팔레트(GIF 등)/ICC 프로파일처럼 이미지마다 색상 모델이 다른 타입은 디코더가 직접 할당하게 둔다
+    /// width/height 는 서브샘플링이 적용된 결과 크기와 정확히 같아야 한다
+    /// 잘리거나 손상된 본문은 디코더가 일부 행을 쓰지 않을 수 있으므로 재사용한 래스터는 지운 뒤 넘긴다
+    private void setScratchDestination(ImageReader reader, ImageReadParam param, int width, int height) throws IOException {
+        Iterator<ImageTypeSpecifier> imageTypes = reader.getImageTypes(0);
+        if (!imageTypes.hasNext()) {
+            return;
+        }
+        int type = imageTypes.next().getBufferedImageType();
+        if (scratchRasterPool.isPoolable(type)) {
+            param.setDestination(scratchRasterPool.acquireCleared(width, height, type));
+        }
+    }
 
-            if (bytesRead < 3) {
-                throw new FileTooSmallException();
-            }
+    /// 압축 폭탄 방지: 헤더에 선언된 픽셀 수가 한도를 넘으면 디코딩하지 않는다
+    private void validatePixelsOrThrow(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new CorruptedImageException();
+        }
 
-            // JPEG 검증
-            if (startsWith(header, JPEG_SIGNATURE)) {
-                return;
-            }
+        if ((long) width * height > maxPixels) {
+            log.warn("Image dimensions exceed pixel budget - width: {}, height: {}, maxPixels: {}", width, height, maxPixels);
+            throw new ImagePixelLimitExceededException(maxPixels);
+        }
+    }
 
-            // PNG 검증
-            if (startsWith(header, PNG_SIGNATURE)) {
-                return;
+    /// JPEG 는 알파 채널을 받지 않으므로 알파가 있는 래스터만 불투명으로 옮겨 인코딩 (Thumbnailator 처럼 매번 복사하지 않음)
+    private byte[] encodeOrThrow(BufferedImage image, ImageFormat imageFormat, Double quality) throws IOException {
+        BufferedImage encodable = imageFormat == ImageFormat.JPEG ? toOpaqueOrSelf(image) : image;
+        try {
+            return imageCodecPool.encodeOrThrow(encodable, imageFormat.getFormatName(), quality);
+        } finally {
+            if (encodable != image) {
+                scratchRasterPool.release(encodable);
             }
+        }
+    }
 
-            // GIF 검증
-            if (startsWith(header, GIF_SIGNATURE)) {
-                return;
+    private byte[] encodeAndMoveOrThrow(
+            BufferedImage image, File outputFile, ImageFormat imageFormat, Double quality
+    ) {
+        Path temp = null;
+        try {
+            byte[] bytes = encodeOrThrow(image, imageFormat, quality);
+
+            Path target = outputFile.toPath();
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return bytes;
+        } catch (Exception e) {
+            log.error("Failed to create image variant: {}", outputFile.getAbsolutePath(), e);
+            if (temp != null) {
+                cleanUpFileOrThrow(temp.toFile());
             }
+            throw new ImageProcessingFailException();
+        }
+    }
 
-            // BMP 검증
-            if (startsWith(header, BMP_SIGNATURE)) {
-                return;
+    /// fast path 대상 포맷(저장 포맷과 같은 JPEG/PNG)인지 시그니처만 엿보고 판단
+    private ImageFormat peekStoredFormat(InputStream inputStream) throws IOException {
+        inputStream.mark(SIGNATURE_PEEK_SIZE);
+        byte[] header = new byte[SIGNATURE_PEEK_SIZE];
+        try {
+            inputStream.readNBytes(header, 0, SIGNATURE_PEEK_SIZE);
+        } finally {
+            inputStream.reset();
+        }
+
+        if (startsWith(header, JPEG_SIGNATURE)) {
+            return ImageFormat.JPEG;
+        }
+        if (startsWith(header, PNG_SIGNATURE)) {
+            return ImageFormat.PNG;
+        }
+        return null;
+    }
+
+    /// 헤더만 읽어 저장 규격 안에 드는지 확인 (래스터 디코딩 없음)
+    private boolean fitsWithin(byte[] bytes, int maxWidth, int maxHeight) {
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(bytes))) {
+            ImageReader reader = imageCodecPool.borrowReaderOrThrow(iis);
+            try {
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                return width > 0 && height > 0 && width <= maxWidth && height <= maxHeight;
+            } finally {
+                imageCodecPool.release(reader);
             }
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /// 래스터 전체를 한 번 디코딩해 본다 (결과 래스터는 바로 재사용 풀에 반환)
+    private boolean isDecodable(byte[] bytes) {
+        try {
+            scratchRasterPool.release(decodeOrThrow(bytes));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private FastPathImage fastPathMiss(String reason) {
+        fastPathCounter("miss", reason).increment();
+        return null;
+    }
+
+    /// 업로드 fast path 적중률: image.upload.fastpath{result=hit|miss, reason}
+    private Counter fastPathCounter(String result, String reason) {
+        return fastPathCounters.computeIfAbsent(result + "|" + reason, key -> Counter.builder("image.upload.fastpath")
+                .description("Uploads stored as-is without decode/resize/encode")
+                .tag("result", result)
+                .tag("reason", reason)
+                .register(meterRegistry));
+    }
 
-            // WEBP 검증 (RIFF...WEBP 구조)
-            if (startsWith(header, WEBP_SIGNATURE) && bytesRead >= 12) {
-                byte[] webpSignature = {0x57, 0x45, 0x42, 0x50}; // "WEBP"
-                if (startsWith(header, 8, webpSignature)) {
-                    return;
+    /// 알파 채널에 불투명(최댓값)이 아닌 픽셀이 하나라도 있는지 행 단위로 확인
+    private boolean hasTransparency(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return false;
+        }
+
+        WritableRaster alpha = image.getAlphaRaster();
+        if (alpha == null) {
+            // 인덱스 컬러 등 알파 래스터가 없는 경우는 투명으로 간주 (PNG 유지)
+            return true;
+        }
+
+        int opaque = (1 << image.getColorModel().getComponentSize(image.getColorModel().getNumComponents() - 1)) - 1;
+        int width = alpha.getWidth();
+        int[] row = new int[width];
+        for (int y = 0; y < alpha.getHeight(); y++) {
+            alpha.getSamples(0, y, width, 1, 0, row);
+            for (int value : row) {
+                if (value != opaque) {
+                    return true;
                 }
             }
+        }
+        return false;
+    }
 
-            throw new InvalidImageSignatureException();
+    /// 원본을 maxWidth x maxHeight 안에 맞출 때의 축소 비율로부터 정수 서브샘플링 배율 계산
+    /// 최종 리사이즈 품질을 위해 목표 크기의 SUBSAMPLING_OVERSAMPLE 배 이상은 남겨둔다
+    private int resolveSubsampling(int width, int height, int maxWidth, int maxHeight) {
+        if (maxWidth <= 0 || maxHeight <= 0) {
+            return 1;
         }
+
+        double scale = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        if (scale >= 1.0) {
+            return 1;
+        }
+
+        int subsampling = (int) Math.floor(1.0 / (scale * SUBSAMPLING_OVERSAMPLE));
+        return Math.max(1, subsampling);
+    }
+
+    /// mark/reset 으로 앞부분만 엿보고 되돌려, 스트림을 소비하지 않고 시그니처를 검증
+    private void validateImageSignature(InputStream inputStream) throws IOException {
+        inputStream.mark(SIGNATURE_PEEK_SIZE);
+        byte[] header = new byte[SIGNATURE_PEEK_SIZE]; // 가장 긴 시그니처에 맞춰 설정
+        int bytesRead;
+        try {
+            bytesRead = inputStream.readNBytes(header, 0, SIGNATURE_PEEK_SIZE);
+        } finally {
+            inputStream.reset();
+        }
+
+        if (bytesRead < 3) {
+            throw new FileTooSmallException();
+        }
+
+        // JPEG 검증
+        if (startsWith(header, JPEG_SIGNATURE)) {
+            return;
+        }
+
+        // PNG 검증
+        if (startsWith(header, PNG_SIGNATURE)) {
+            return;
+        }
+
+        // GIF 검증
+        if (startsWith(header, GIF_SIGNATURE)) {
+            return;
+        }
+
+        // BMP 검증
+        if (startsWith(header, BMP_SIGNATURE)) {
+            return;
+        }
+
+        // WEBP 검증 (RIFF...WEBP 구조)
+        if (startsWith(header, WEBP_SIGNATURE) && bytesRead >= 12) {
+            byte[] webpSignature = {0x57, 0x45, 0x42, 0x50}; // "WEBP"
+            if (startsWith(header, 8, webpSignature)) {
+                return;
+            }
+        }
+
+        throw new InvalidImageSignatureException();
     }
 
     private void validateImageWithThumbnailator(MultipartFile file) throws IOException {
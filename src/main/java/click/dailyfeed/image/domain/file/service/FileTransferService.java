@@ -0,0 +1,45 @@
+package click.dailyfeed.image.domain.file.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+
+/// 파일 본문 전송을 톰캣 sendfile(커널 zero-copy)에 위임
+/// 위임에 성공하면 컨트롤러는 Content-Length 만 설정하고 본문을 쓰지 않아야 한다
+@Slf4j
+@Service
+public class FileTransferService {
+
+    // 톰캣 sendfile 요청 속성 (org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Value("${images.sendfile.enabled:true}")
+    private boolean sendfileEnabled;
+
+    @Value("${images.sendfile.min-size:49152}") // 48KB default (톰캣 DefaultServlet 기준과 동일)
+    private long sendfileMinSize;
+
+    /// 파일 구간 [start, end) 를 sendfile 로 전송하도록 톰캣에 위임. 위임했으면 true
+    /// 커넥터가 sendfile 을 지원하지 않거나(압축 사용 등) 구간이 너무 작으면 false
+    public boolean trySendfile(HttpServletRequest request, Path path, long start, long end) {
+        if (!sendfileEnabled || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            return false;
+        }
+        // HEAD 는 본문이 없으므로 위임하지 않는다
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || end - start < sendfileMinSize) {
+            return false;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_FILE_END_ATTR, end);
+        log.debug("Delegated to sendfile - path: {}, range: [{}, {})", path, start, end);
+        return true;
+    }
+}
@@ -0,0 +1,247 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.code.domain.image.exception.CorruptedImageException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// ImageReader/ImageWriter 재사용
+///
+/// - 포맷별 SPI 는 처음 한 번만 찾고, 입력 포맷은 시그니처로 판별 (업로드마다 전체 SPI 순회 없음)
+/// - 사용이 끝난 reader/writer 는 reset 후 포맷별 대기열에 보관 (max-idle-per-format 초과분은 dispose)
+/// - 인코딩 출력은 메모리 캐시 스트림으로 바로 기록 (ImageIO 기본 디스크 캐시의 쓰기마다 임시 파일 생성 없음)
+@Slf4j
+@Component
+public class ImageCodecPool {
+
+    private static final int SIGNATURE_PEEK_SIZE = 12;
+
+    private final int maxIdlePerFormat;
+
+    private final Map<String, ImageReaderSpi> readerSpis = new ConcurrentHashMap<>();
+    private final Map<String, ImageWriterSpi> writerSpis = new ConcurrentHashMap<>();
+    private final Map<ImageReaderSpi, BlockingQueue<ImageReader>> idleReaders = new ConcurrentHashMap<>();
+    private final Map<ImageWriterSpi, BlockingQueue<ImageWriter>> idleWriters = new ConcurrentHashMap<>();
+
+    private final Counter readerHitCounter;
+    private final Counter readerMissCounter;
+    private final Counter writerHitCounter;
+    private final Counter writerMissCounter;
+
+    public ImageCodecPool(
+            @Value("${images.codec-pool.max-idle-per-format:8}") int maxIdlePerFormat,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxIdlePerFormat = maxIdlePerFormat;
+        this.readerHitCounter = lookupCounter(meterRegistry, "reader", "hit");
+        this.readerMissCounter = lookupCounter(meterRegistry, "reader", "miss");
+        this.writerHitCounter = lookupCounter(meterRegistry, "writer", "hit");
+        this.writerMissCounter = lookupCounter(meterRegistry, "writer", "miss");
+    }
+
+    /// 입력에 맞는 reader 를 꺼내 스트림에 연결 (헤더 단위로 읽을 수 있음). 다 쓰면 release 로 반환
+    public ImageReader borrowReaderOrThrow(ImageInputStream iis) throws IOException {
+        if (iis == null) {
+            throw new CorruptedImageException();
+        }
+
+        ImageReaderSpi spi = readerSpiOrNull(iis);
+        if (spi == null) {
+            log.error("No ImageReader found - file may not be a valid image");
+            throw new CorruptedImageException();
+        }
+
+        ImageReader reader = idleReaders.computeIfAbsent(spi, key -> new ArrayBlockingQueue<>(maxIdlePerFormat)).poll();
+        if (reader != null) {
+            readerHitCounter.increment();
+        } else {
+            readerMissCounter.increment();
+            reader = spi.createReaderInstance();
+        }
+        reader.setInput(iis, true, true);
+        return reader;
+    }
+
+    /// 입력 스트림은 닫지 않는다 (스트림은 빌려간 쪽이 닫음)
+    public void release(ImageReader reader) {
+        try {
+            reader.reset();
+            BlockingQueue<ImageReader> idle = idleReaders.get(reader.getOriginatingProvider());
+            if (idle != null && idle.offer(reader)) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Discarding ImageReader that failed to reset", e);
+        }
+        reader.dispose();
+    }
+
+    /// 한 번 인코딩한 바이트. quality 는 압축을 지원하는 포맷(JPEG/WebP/PNG 압축 레벨)에만 적용된다
+    /// JPEG 인코더는 알파 채널을 받지 않으므로 알파가 있는 래스터는 호출하는 쪽에서 불투명으로 옮겨 넘긴다
+    public byte[] encodeOrThrow(BufferedImage image, String formatName, Double quality) throws IOException {
+        ImageWriterSpi spi = writerSpiOrNull(formatName);
+        if (spi == null) {
+            throw new IOException("No ImageWriter for format: " + formatName);
+        }
+
+        ImageWriter writer = idleWriters.computeIfAbsent(spi, key -> new ArrayBlockingQueue<>(maxIdlePerFormat)).poll();
+        if (writer != null) {
+            writerHitCounter.increment();
+        } else {
+            writerMissCounter.increment();
+            writer = spi.createWriterInstance();
+        }
+
+        boolean reusable = false;
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ImageOutputStream ios = new MemoryCacheImageOutputStream(baos)) {
+                writer.setOutput(ios);
+                writer.write(null, new IIOImage(image, null, null), writeParamOf(writer, quality));
+            }
+            reusable = true;
+            return baos.toByteArray();
+        } finally {
+            release(writer, reusable);
+        }
+    }
+
+    /// helpers ///
+
+    /// 시그니처로 판별한 포맷의 SPI. 판별하지 못했거나 SPI 가 입력을 거부하면 등록된 SPI 전체에서 찾는다
+    private ImageReaderSpi readerSpiOrNull(ImageInputStream iis) throws IOException {
+        String formatName = peekFormatNameOrNull(iis);
+        if (formatName != null) {
+            ImageReaderSpi spi = readerSpis.computeIfAbsent(formatName, ImageCodecPool::lookupReaderSpiOrNull);
+            if (spi != null && spi.canDecodeInput(iis)) {
+                return spi;
+            }
+        }
+
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        ImageReaderSpi spi = reader.getOriginatingProvider();
+        reader.dispose();
+        return spi;
+    }
+
+    private ImageWriterSpi writerSpiOrNull(String formatName) {
+        return writerSpis.computeIfAbsent(formatName, name -> {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(name);
+            if (!writers.hasNext()) {
+                return null;
+            }
+            ImageWriter writer = writers.next();
+            ImageWriterSpi spi = writer.getOriginatingProvider();
+            writer.dispose();
+            return spi;
+        });
+    }
+
+    private static ImageReaderSpi lookupReaderSpiOrNull(String formatName) {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(formatName);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        ImageReaderSpi spi = reader.getOriginatingProvider();
+        reader.dispose();
+        return spi;
+    }
+
+    /// 업로드 검증과 같은 시그니처 기준 (WebP 는 RIFF....WEBP)
+    private static String peekFormatNameOrNull(ImageInputStream iis) throws IOException {
+        byte[] header = new byte[SIGNATURE_PEEK_SIZE];
+        iis.mark();
+        int read;
+        try {
+            read = iis.read(header);
+        } finally {
+            iis.reset();
+        }
+        if (read < 2) {
+            return null;
+        }
+
+        int b0 = header[0] & 0xFF;
+        int b1 = header[1] & 0xFF;
+        if (b0 == 0xFF && b1 == 0xD8) {
+            return "jpeg";
+        }
+        if (b0 == 0x89 && b1 == 'P') {
+            return "png";
+        }
+        if (b0 == 'G' && b1 == 'I') {
+            return "gif";
+        }
+        if (b0 == 'B' && b1 == 'M') {
+            return "bmp";
+        }
+        if (read >= SIGNATURE_PEEK_SIZE && b0 == 'R' && b1 == 'I'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    /// Thumbnailator 의 outputQuality 와 같은 방식 (명시적 압축 모드 + 첫 번째 압축 방식)
+    private static ImageWriteParam writeParamOf(ImageWriter writer, Double quality) {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (quality != null && param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            String[] compressionTypes = param.getCompressionTypes();
+            if (param.getCompressionType() == null && compressionTypes != null && compressionTypes.length > 0) {
+                param.setCompressionType(compressionTypes[0]);
+            }
+            param.setCompressionQuality(quality.floatValue());
+        }
+        return param;
+    }
+
+    private void release(ImageWriter writer, boolean reusable) {
+        if (reusable) {
+            try {
+                writer.reset();
+                BlockingQueue<ImageWriter> idle = idleWriters.get(writer.getOriginatingProvider());
+                if (idle != null && idle.offer(writer)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Discarding ImageWriter that failed to reset", e);
+            }
+        }
+        writer.dispose();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String kind, String result) {
+        return Counter.builder("image.codec.pool.lookups")
+                .description("ImageReader/ImageWriter requests served from the pool or newly created")
+                .tag("kind", kind)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,202 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// 평면 배치(<root>/<id>.PNG)의 파일을 샤딩 배치(<root>/ab/cd/<id>.PNG)로 옮기는 온라인 마이그레이션
+/// 조회는 샤딩 → 평면 순으로 두 배치를 모두 보므로 서비스 중에 실행할 수 있다
+/// 파일은 하드 링크를 먼저 만들고 평면 경로를 지워, 이동 중에도 두 경로 중 하나에는 항상 존재한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageLayoutMigrationService {
+
+    @Value("${images.layout.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    // 디스크 부하 조절: pause-every 개 처리마다 pause-millis 만큼 쉰다 (0 이면 쉬지 않음)
+    @Value("${images.layout.migration.pause-every:1000}")
+    private int pauseEvery;
+
+    @Value("${images.layout.migration.pause-millis:0}")
+    private long pauseMillis;
+
+    private final ImageStorageLayout imageStorageLayout;
+    private final FileService fileService;
+
+    // 평면 배치에 저장된 원본/썸네일 파일 이름 (<id>.PNG, <id>-thumbnail.JPG ...)
+    private static final Pattern STORED_FILE_PATTERN = Pattern.compile("([A-Za-z0-9_-]+)\\.(PNG|JPG|WEBP)");
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong moved = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            startAsync();
+        }
+    }
+
+    /// 백그라운드 스레드에서 마이그레이션 시작 (이미 실행 중이면 false)
+    public boolean startAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        moved.set(0);
+        skipped.set(0);
+        failed.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+
+        Thread thread = new Thread(this::runMigration, "image-layout-migration");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public MigrationStatus status() {
+        return new MigrationStatus(running.get(), moved.get(), skipped.get(), failed.get(), startedAt, finishedAt);
+    }
+
+    public record MigrationStatus(
+            boolean running, long moved, long skipped, long failed, Instant startedAt, Instant finishedAt
+    ) {
+    }
+
+    /// helpers ///
+
+    private void runMigration() {
+        log.info("Image layout migration started - root: {}", imageStorageLayout.getRoot());
+        try {
+            migrateStoredFiles();
+            migrateVariantDirectories();
+        } catch (Exception e) {
+            log.error("Image layout migration aborted", e);
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+            log.info("Image layout migration finished - moved: {}, skipped: {}, failed: {}",
+                    moved.get(), skipped.get(), failed.get());
+        }
+    }
+
+    private void migrateStoredFiles() throws IOException {
+        Path root = imageStorageLayout.getRoot();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, Files::isRegularFile)) {
+            for (Path flat : entries) {
+                Matcher matcher = STORED_FILE_PATTERN.matcher(flat.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                ImageFormat imageFormat = formatOf(matcher.group(2));
+                migrateFile(flat, imageStorageLayout.shardedPath(matcher.group(1), imageFormat));
+                throttle();
+            }
+        }
+    }
+
+    private void migrateFile(Path flat, Path sharded) {
+        try {
+            imageStorageLayout.ensureDirectory(sharded.getParent());
+            if (Files.exists(sharded)) {
+                // 이미 옮겨진 파일 (이전 실행이 링크 후 중단된 경우 등)
+                Files.deleteIfExists(flat);
+                skipped.incrementAndGet();
+                return;
+            }
+
+            try {
+                Files.createLink(sharded, flat);
+                Files.deleteIfExists(flat);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                // 하드 링크를 지원하지 않는 파일 시스템은 원자적 rename 으로 대체
+                Files.move(flat, sharded, StandardCopyOption.ATOMIC_MOVE);
+            }
+            moved.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("Failed to migrate image file: {}", flat, e);
+        }
+    }
+
+    /// 이전 변형 디렉토리(variants/<id>)를 샤딩 배치(variants/ab/cd/<id>)로 이동
+    private void migrateVariantDirectories() throws IOException {
+        Path variantRoot = imageStorageLayout.legacyVariantRoot();
+        if (!Files.isDirectory(variantRoot)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(variantRoot, Files::isDirectory)) {
+            for (Path legacy : entries) {
+                String imageId = legacy.getFileName().toString();
+                if (imageStorageLayout.isShardName(imageId)) {
+                    continue;
+                }
+
+                Path sharded = imageStorageLayout.variantDir(imageId);
+                try {
+                    if (Files.exists(sharded)) {
+                        // 변형은 다시 만들 수 있는 캐시이므로 이미 새 배치에 있으면 이전 것은 버린다
+                        fileService.cleanUpDirectoryOrThrow(legacy);
+                        skipped.incrementAndGet();
+                    } else {
+                        imageStorageLayout.ensureDirectory(sharded.getParent());
+                        Files.move(legacy, sharded, StandardCopyOption.ATOMIC_MOVE);
+                        moved.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.warn("Failed to migrate variant directory: {}", legacy, e);
+                }
+                throttle();
+            }
+        }
+    }
+
+    private ImageFormat formatOf(String extension) {
+        for (ImageFormat imageFormat : ImageFormat.values()) {
+            if (imageFormat.getExtension().equals(extension)) {
+                return imageFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image extension: " + extension);
+    }
+
+    private void throttle() {
+        long processed = moved.get() + skipped.get() + failed.get();
+        if (pauseMillis <= 0 || pauseEvery <= 0 || processed % pauseEvery != 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.code.domain.image.exception.CorruptedImageException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/// 디코딩 없이 JPEG 세그먼트 / PNG 청크 구조를 검증하면서 메타데이터(EXIF, XMP, 텍스트 등)를 제거
+/// 구조가 올바르지 않으면 CorruptedImageException (호출 측은 일반 디코딩 경로로 처리)
+@Component
+public class ImageMetadataStripper {
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_EOI = 0xD9;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_APP0 = 0xE0;  // JFIF
+    private static final int JPEG_APP2 = 0xE2;  // ICC 프로파일 (색 재현에 필요)
+    private static final int JPEG_APP14 = 0xEE; // Adobe (색 공간 변환 정보)
+    private static final int JPEG_COM = 0xFE;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final String PNG_IHDR = "IHDR";
+    private static final String PNG_IDAT = "IDAT";
+    private static final String PNG_IEND = "IEND";
+
+    // 렌더링에 영향이 없는 메타데이터 청크
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "eXIf", "tIME");
+
+    /// APP1(EXIF/XMP), APP13(IPTC) 등 메타데이터 세그먼트와 COM, EOI 뒤의 덧붙은 데이터를 제거
+    /// JFIF(APP0), ICC(APP2), Adobe(APP14) 는 렌더링에 쓰이므로 유지한다
+    public byte[] stripJpegOrThrow(byte[] jpeg) {
+        if (jpeg.length < 4 || u8(jpeg, 0) != 0xFF || u8(jpeg, 1) != JPEG_SOI) {
+            throw new CorruptedImageException();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(jpeg.length);
+        out.write(jpeg, 0, 2);
+
+        boolean frameSeen = false;
+        int pos = 2;
+        while (pos + 4 <= jpeg.length) {
+            if (u8(jpeg, pos) != 0xFF) {
+                throw new CorruptedImageException();
+            }
+            // 마커 앞의 채움 바이트(0xFF) 건너뜀
+            while (pos + 1 < jpeg.length && u8(jpeg, pos + 1) == 0xFF) {
+                pos++;
+            }
+            // 채움 바이트로 끝나는 본문은 마커/길이를 읽을 수 없다
+            if (pos + 4 > jpeg.length) {
+                throw new CorruptedImageException();
+            }
+
+            int marker = u8(jpeg, pos + 1);
+            if (marker == JPEG_EOI || marker == JPEG_SOI || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                // 스캔 시작 전에 나올 수 없는 독립 마커
+                throw new CorruptedImageException();
+            }
+
+            int length = u16(jpeg, pos + 2);
+            if (length < 2 || pos + 2 + length > jpeg.length) {
+                throw new CorruptedImageException();
+            }
+
+            if (marker == JPEG_SOS) {
+                if (!frameSeen) {
+                    throw new CorruptedImageException();
+                }
+                // 엔트로피 데이터부터 마지막 EOI 까지 그대로 복사 (EOI 뒤 덧붙은 데이터는 버림)
+                int end = lastIndexOfEoi(jpeg, pos + 2 + length);
+                if (end < 0) {
+                    throw new CorruptedImageException();
+                }
+                out.write(jpeg, pos, end - pos);
+                return out.toByteArray();
+            }
+
+            if (isStartOfFrame(marker)) {
+                frameSeen = true;
+            }
+
+            if (!isJpegMetadata(marker)) {
+                out.write(jpeg, pos, 2 + length);
+            }
+            pos += 2 + length;
+        }
+        throw new CorruptedImageException();
+    }
+
+    /// 청크마다 길이/CRC 를 검증하고, 텍스트/EXIF/시간 청크와 IEND 뒤의 덧붙은 데이터를 제거
+    public byte[] stripPngOrThrow(byte[] png) {
+        if (png.length < PNG_SIGNATURE.length || !startsWith(png, PNG_SIGNATURE)) {
+            throw new CorruptedImageException();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length);
+        out.write(png, 0, PNG_SIGNATURE.length);
+
+        boolean first = true;
+        boolean dataSeen = false;
+        int pos = PNG_SIGNATURE.length;
+        while (pos + 12 <= png.length) {
+            long length = u32(png, pos);
+            if (length > png.length - pos - 12) {
+                throw new CorruptedImageException();
+            }
+            int dataLength = (int) length;
+            String type = new String(png, pos + 4, 4, StandardCharsets.ISO_8859_1);
+
+            CRC32 crc = new CRC32();
+            crc.update(png, pos + 4, 4 + dataLength);
+            if (crc.getValue() != u32(png, pos + 8 + dataLength)) {
+                throw new CorruptedImageException();
+            }
+
+            if (first && !PNG_IHDR.equals(type)) {
+                throw new CorruptedImageException();
+            }
+            first = false;
+
+            int chunkSize = 12 + dataLength;
+            if (!PNG_METADATA_CHUNKS.contains(type)) {
+                out.write(png, pos, chunkSize);
+            }
+
+            if (PNG_IDAT.equals(type)) {
+                dataSeen = true;
+            }
+            if (PNG_IEND.equals(type)) {
+                if (!dataSeen) {
+                    throw new CorruptedImageException();
+                }
+                return out.toByteArray();
+            }
+            pos += chunkSize;
+        }
+        throw new CorruptedImageException();
+    }
+
+    /// helpers ///
+
+    /// SOF0~SOF15 (DHT=C4, JPG=C8, DAC=CC 제외)
+    private boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private boolean isJpegMetadata(int marker) {
+        if (marker == JPEG_COM) {
+            return true;
+        }
+        boolean application = marker >= JPEG_APP0 && marker <= 0xEF;
+        return application && marker != JPEG_APP0 && marker != JPEG_APP2 && marker != JPEG_APP14;
+    }
+
+    /// 마지막 EOI 마커 직후 위치 (없으면 -1)
+    private int lastIndexOfEoi(byte[] jpeg, int from) {
+        for (int i = jpeg.length - 2; i >= from; i--) {
+            if (u8(jpeg, i) == 0xFF && u8(jpeg, i + 1) == JPEG_EOI) {
+                return i + 2;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startsWith(byte[] array, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (array[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int u8(byte[] bytes, int offset) {
+        return bytes[offset] & 0xFF;
+    }
+
+    private int u16(byte[] bytes, int offset) {
+        return (u8(bytes, offset) << 8) | u8(bytes, offset + 1);
+    }
+
+    private long u32(byte[] bytes, int offset) {
+        return ((long) u8(bytes, offset) << 24) | ((long) u8(bytes, offset + 1) << 16)
+                | ((long) u8(bytes, offset + 2) << 8) | u8(bytes, offset + 3);
+    }
+}
@@ -0,0 +1,108 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// upload-root 디렉토리 배치
+///
+/// - 샤딩 배치: <root>/ab/cd/<id>.JPG, <root>/ab/cd/<id>-thumbnail.JPG (ab/cd = 이미지 ID 앞 4글자, UUID 라 고르게 분산)
+/// - 이전 평면 배치: <root>/<id>.PNG (마이그레이션 전 파일, 조회 시 폴백)
+/// - 변형 이미지: <root>/variants/ab/cd/<id>/ (이전: <root>/variants/<id>/)
+/// - 원본/썸네일은 ObjectStorage 키(root 기준 상대 경로)로도 같은 배치를 쓴다 (S3 버킷에서도 동일)
+@Component
+public class ImageStorageLayout {
+
+    private static final String VARIANT_DIR = "variants";
+    private static final int SHARD_WIDTH = 2;
+
+    private final Path root;
+
+    // 이미 만든 샤드 디렉토리 (업로드마다 createDirectories 호출 방지, 최대 256*256 개)
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    public ImageStorageLayout(@Value("${images.upload-root}") String imageRoot) {
+        this.root = Paths.get(imageRoot).normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /// 이미지 ID 가 속한 샤드 디렉토리 (ID 가 짧으면 root)
+    public Path shardDir(String imageId) {
+        return shard(root, imageId);
+    }
+
+    public Path shardedPath(String fileName, ImageFormat imageFormat) {
+        return shardDir(fileName).resolve(imageFormat.withFileName(fileName));
+    }
+
+    public Path flatPath(String fileName, ImageFormat imageFormat) {
+        return root.resolve(imageFormat.withFileName(fileName));
+    }
+
+    /// 저장소(ObjectStorage) 키: root 기준 상대 경로 ("ab/cd/<id>.JPG")
+    public String shardedKey(String fileName, ImageFormat imageFormat) {
+        String name = imageFormat.withFileName(fileName);
+        if (fileName.length() < SHARD_WIDTH * 2) {
+            return name;
+        }
+        return fileName.substring(0, SHARD_WIDTH) + "/" + fileName.substring(SHARD_WIDTH, SHARD_WIDTH * 2) + "/" + name;
+    }
+
+    public String flatKey(String fileName, ImageFormat imageFormat) {
+        return imageFormat.withFileName(fileName);
+    }
+
+    /// 샤딩 배치를 먼저, 없으면 이전 평면 배치를 확인 (둘 다 없으면 null)
+    /// 마이그레이션은 링크 생성 후 원본을 지우므로 두 경로 중 하나에는 항상 파일이 있다
+    public Path resolveExistingOrNull(String fileName, ImageFormat imageFormat) {
+        Path sharded = shardedPath(fileName, imageFormat);
+        if (Files.isReadable(sharded)) {
+            return sharded;
+        }
+        Path flat = flatPath(fileName, imageFormat);
+        return Files.isReadable(flat) ? flat : null;
+    }
+
+    public Path variantDir(String imageId) {
+        return shard(root.resolve(VARIANT_DIR), imageId).resolve(imageId);
+    }
+
+    public Path legacyVariantDir(String imageId) {
+        return root.resolve(VARIANT_DIR).resolve(imageId);
+    }
+
+    public Path legacyVariantRoot() {
+        return root.resolve(VARIANT_DIR);
+    }
+
+    /// 저장 전에 샤드 디렉토리를 준비 (프로세스당 디렉토리별 한 번만 생성)
+    public void ensureDirectory(Path dir) throws IOException {
+        if (createdDirectories.contains(dir)) {
+            return;
+        }
+        Files.createDirectories(dir);
+        createdDirectories.add(dir);
+    }
+
+    /// 샤드 디렉토리 이름인지 (변형 디렉토리 마이그레이션 시 이전 <id> 디렉토리와 구분)
+    public boolean isShardName(String name) {
+        return name.length() == SHARD_WIDTH;
+    }
+
+    private Path shard(Path base, String name) {
+        if (name.length() < SHARD_WIDTH * 2) {
+            return base;
+        }
+        return base.resolve(name.substring(0, SHARD_WIDTH)).resolve(name.substring(SHARD_WIDTH, SHARD_WIDTH * 2));
+    }
+}
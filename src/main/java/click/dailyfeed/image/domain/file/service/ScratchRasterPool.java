@@ -0,0 +1,155 @@
+package click.dailyfeed.image.domain.file.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// 디코딩 대상/불투명 변환용 래스터 재사용 (너비 x 높이 x 타입이 같으면 새로 할당하지 않음)
+///
+/// - acquire 로 돌려받은 래스터는 이전 내용이 남아 있으므로 전체 영역을 덮어쓰는 곳에서만 사용한다
+/// - 디코딩 대상처럼 모든 화소가 써진다고 보장할 수 없는 곳은 acquireCleared (잘린/점진적 JPEG 이 다른 업로드의 화소를 남기지 않게)
+/// - 반환(release)은 래스터를 더 참조하지 않는 소유자가 한 번만 한다. 반환하지 않은 래스터는 그냥 GC 대상
+/// - 보관 용량(max-bytes)을 넘으면 가장 오래 쉬고 있던 래스터부터 버린다
+@Component
+public class ScratchRasterPool {
+
+    // 색상 모델이 이미지마다 달라지지 않는 표준 타입만 재사용 (TYPE_BYTE_INDEXED 팔레트, TYPE_CUSTOM 제외)
+    private static final Set<Integer> POOLABLE_TYPES = Set.of(
+            BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_BGR,
+            BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_BYTE_GRAY
+    );
+
+    private final long maxBytes;
+
+    // 최근 반환한 래스터가 뒤쪽 (찾기는 뒤에서부터, 버리기는 앞에서부터)
+    private final ArrayDeque<BufferedImage> idle = new ArrayDeque<>();
+    private final AtomicLong idleBytes = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ScratchRasterPool(
+            @Value("${images.raster-pool.max-bytes:33554432}") long maxBytes,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxBytes = maxBytes;
+        Gauge.builder("image.raster.pool.bytes", idleBytes, AtomicLong::get)
+                .description("Bytes held by idle scratch rasters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+    }
+
+    /// 같은 규격의 쉬고 있는 래스터가 있으면 그대로(이전 내용 포함) 돌려주고, 없으면 새로 할당
+    public BufferedImage acquire(int width, int height, int type) {
+        BufferedImage image = takeIdleOrNull(width, height, type);
+        return image != null ? image : new BufferedImage(width, height, type);
+    }
+
+    /// acquire 와 같지만 재사용한 래스터는 새로 할당한 것과 같이 0(투명/검정)으로 지워서 돌려준다
+    public BufferedImage acquireCleared(int width, int height, int type) {
+        BufferedImage image = takeIdleOrNull(width, height, type);
+        if (image == null) {
+            return new BufferedImage(width, height, type);
+        }
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Clear);
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /// 더 쓰지 않는 래스터를 반환 (같은 인스턴스가 여러 번 주어져도 한 번만 보관, null 무시)
+    public void release(BufferedImage... images) {
+        if (maxBytes <= 0) {
+            return;
+        }
+        Set<BufferedImage> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BufferedImage image : images) {
+            if (image != null && isPoolable(image.getType()) && sizeOf(image) <= maxBytes) {
+                distinct.add(image);
+            }
+        }
+        if (distinct.isEmpty()) {
+            return;
+        }
+
+        synchronized (idle) {
+            for (BufferedImage image : distinct) {
+                if (containsInstance(image)) {
+                    continue;
+                }
+                idle.addLast(image);
+                idleBytes.addAndGet(sizeOf(image));
+            }
+            while (idleBytes.get() > maxBytes) {
+                idleBytes.addAndGet(-sizeOf(idle.removeFirst()));
+            }
+        }
+    }
+
+    /// 재사용 대상 타입인지 (풀이 꺼져 있으면 항상 false)
+    public boolean isPoolable(int type) {
+        return maxBytes > 0 && POOLABLE_TYPES.contains(type);
+    }
+
+    /// helpers ///
+
+    private BufferedImage takeIdleOrNull(int width, int height, int type) {
+        if (!isPoolable(type)) {
+            return null;
+        }
+        synchronized (idle) {
+            Iterator<BufferedImage> candidates = idle.descendingIterator();
+            while (candidates.hasNext()) {
+                BufferedImage candidate = candidates.next();
+                if (candidate.getWidth() == width && candidate.getHeight() == height && candidate.getType() == type) {
+                    candidates.remove();
+                    idleBytes.addAndGet(-sizeOf(candidate));
+                    hitCounter.increment();
+                    return candidate;
+                }
+            }
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    private boolean containsInstance(BufferedImage image) {
+        for (BufferedImage candidate : idle) {
+            if (candidate == image) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("image.raster.pool.lookups")
+                .description("Scratch raster requests served from the pool or newly allocated")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
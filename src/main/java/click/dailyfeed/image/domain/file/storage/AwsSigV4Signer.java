@@ -0,0 +1,142 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/// AWS Signature Version 4 (S3 호환 저장소 요청 서명, Authorization 헤더)
+/// 본문은 서명하지 않는다(UNSIGNED-PAYLOAD): 업로드를 스트림 그대로 보내기 위해 본문 해시를 미리 계산하지 않음
+public class AwsSigV4Signer {
+
+    public static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    public static final String EMPTY_PAYLOAD_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SERVICE = "s3";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter SCOPE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    public AwsSigV4Signer(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    public static String amzDate(Instant now) {
+        return AMZ_DATE.format(now);
+    }
+
+    /// headers 에는 host, x-amz-date, x-amz-content-sha256 를 포함한 서명 대상 헤더를 넣는다
+    public String authorization(String method, URI uri, Map<String, String> headers, String payloadHash, Instant now) {
+        Map<String, String> canonicalHeaders = new TreeMap<>();
+        headers.forEach((name, value) -> canonicalHeaders.put(name.toLowerCase(Locale.ROOT), value.trim()));
+        String signedHeaders = String.join(";", canonicalHeaders.keySet());
+
+        String canonicalRequest = method + "\n"
+                + canonicalPath(uri) + "\n"
+                + canonicalQuery(uri) + "\n"
+                + canonicalHeaders.entrySet().stream()
+                        .map(header -> header.getKey() + ":" + header.getValue() + "\n")
+                        .collect(Collectors.joining()) + "\n"
+                + signedHeaders + "\n"
+                + payloadHash;
+
+        String scope = SCOPE_DATE.format(now) + "/" + region + "/" + SERVICE + "/aws4_request";
+        String stringToSign = ALGORITHM + "\n"
+                + amzDate(now) + "\n"
+                + scope + "\n"
+                + sha256Hex(canonicalRequest);
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), SCOPE_DATE.format(now));
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, SERVICE);
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders
+                + ", Signature=" + signature;
+    }
+
+    /// 경로 세그먼트별 URI 인코딩 (S3 는 한 번만 인코딩)
+    public static String encodePath(String path) {
+        return Arrays.stream(path.split("/", -1))
+                .map(AwsSigV4Signer::uriEncode)
+                .collect(Collectors.joining("/"));
+    }
+
+    /// helpers ///
+
+    private static String canonicalPath(URI uri) {
+        String path = uri.getRawPath();
+        return path == null || path.isEmpty() ? "/" : path;
+    }
+
+    private static String canonicalQuery(URI uri) {
+        String query = uri.getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        Map<String, String> parameters = new TreeMap<>();
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            parameters.put(
+                    separator < 0 ? parameter : parameter.substring(0, separator),
+                    separator < 0 ? "" : parameter.substring(separator + 1)
+            );
+        }
+        return parameters.entrySet().stream()
+                .map(parameter -> parameter.getKey() + "=" + parameter.getValue())
+                .collect(Collectors.joining("&"));
+    }
+
+    /// RFC 3986 unreserved 문자(A-Z a-z 0-9 - _ . ~)만 그대로 두고 나머지는 %XX
+    private static String uriEncode(String value) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(HexFormat.of().withUpperCase().toHexDigits(b));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import click.dailyfeed.image.domain.file.service.ImageStorageLayout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/// upload-root 디렉토리를 저장소로 사용 (공유 볼륨 또는 단일 파드)
+/// 임시 파일에 쓴 뒤 원자적으로 이동해, 동시에 읽는 쪽에 부분 파일이 보이지 않게 한다
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "images.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalObjectStorage implements ObjectStorage {
+
+    private final ImageStorageLayout imageStorageLayout;
+
+    @Override
+    public void put(String key, InputStream content, long length, String contentType) throws IOException {
+        Path target = resolveOrThrow(key);
+        imageStorageLayout.ensureDirectory(target.getParent());
+
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public ObjectStat statOrNull(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolveOrThrow(key), BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                    ? new ObjectStat(attributes.size(), attributes.lastModifiedTime().toMillis())
+                    : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream openOrNull(String key, long offset, long length) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(resolveOrThrow(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        // 구간 시작으로 seek (앞부분을 읽어 버리지 않음)
+        channel.position(offset);
+        InputStream in = Channels.newInputStream(channel);
+        return length < 0 ? in : new BoundedInputStream(in, length);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolveOrThrow(key));
+    }
+
+    @Override
+    public boolean mayContainFlatKeys() {
+        return true;
+    }
+
+    @Override
+    public Path localPathOrNull(String key) {
+        Path path = resolveOrThrow(key);
+        return Files.isReadable(path) ? path : null;
+    }
+
+    /// 키가 root 밖을 가리키지 않는지 확인 (경로 순회 방지)
+    private Path resolveOrThrow(String key) {
+        Path root = imageStorageLayout.getRoot();
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,5 @@
+package click.dailyfeed.image.domain.file.storage;
+
+/// 저장된 객체의 크기와 마지막 수정 시각(epoch millis, 모르면 -1)
+public record ObjectStat(long length, long lastModified) {
+}
@@ -0,0 +1,48 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/// 원본/썸네일 저장소 (images.storage.type: local | s3)
+/// 키는 upload-root 기준 상대 경로("ab/cd/<id>.JPG")이고, 구현은 로컬 디렉토리 또는 S3 호환 버킷
+public interface ObjectStorage {
+
+    /// 길이를 아는 스트림을 그대로 기록 (본문 전체를 메모리에 올리지 않음). 같은 키는 덮어쓴다
+    void put(String key, InputStream content, long length, String contentType) throws IOException;
+
+    /// 본문 전체 (없으면 null)
+    default byte[] getOrNull(String key) throws IOException {
+        try (InputStream in = openOrNull(key, 0, -1)) {
+            return in != null ? in.readAllBytes() : null;
+        }
+    }
+
+    /// 없으면 null
+    ObjectStat statOrNull(String key) throws IOException;
+
+    /// [offset, offset + length) 구간 스트림. length 가 -1 이면 끝까지 (없으면 null)
+    InputStream openOrNull(String key, long offset, long length) throws IOException;
+
+    /// 없는 키면 아무 일도 하지 않는다
+    void delete(String key) throws IOException;
+
+    /// 여러 키를 한 번에 삭제 (원격 저장소는 요청 하나로 묶는다). 없는 키는 무시
+    default void deleteAll(Collection<String> keys) throws IOException {
+        for (String key : keys) {
+            delete(key);
+        }
+    }
+
+    /// 마이그레이션 전 평면 배치 키(<id>.PNG)가 남아 있을 수 있는지
+    /// 버킷은 처음부터 샤딩 배치로만 기록하므로 원격 저장소는 false (조회 시 평면 키를 확인하지 않는다)
+    default boolean mayContainFlatKeys() {
+        return false;
+    }
+
+    /// 로컬 파일로 존재하면 그 경로 (sendfile 전송용). 원격 저장소는 null
+    default Path localPathOrNull(String key) {
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/// 원격 저장소 객체를 응답 본문으로 쓰기 위한 Resource (크기/수정 시각은 조회 시점의 stat)
+/// Range 요청은 getInputStream(offset, length) 로 필요한 구간만 받아 온다
+public class ObjectStorageResource extends AbstractResource {
+
+    private final ObjectStorage objectStorage;
+    private final String key;
+    private final ObjectStat stat;
+
+    public ObjectStorageResource(ObjectStorage objectStorage, String key, ObjectStat stat) {
+        this.objectStorage = objectStorage;
+        this.key = key;
+        this.stat = stat;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return getInputStream(0, -1);
+    }
+
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        InputStream in = objectStorage.openOrNull(key, offset, length);
+        if (in == null) {
+            throw new FileNotFoundException(getDescription() + " does not exist");
+        }
+        return in;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return stat.length();
+    }
+
+    @Override
+    public long lastModified() {
+        return stat.lastModified();
+    }
+
+    @Override
+    public String getFilename() {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Object storage resource [" + key + "]";
+    }
+}
@@ -0,0 +1,290 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// S3 호환 저장소 (AWS S3, MinIO 등). path-style 주소(<endpoint>/<bucket>/<key>)와 SigV4 서명을 사용
+/// 파드 간에 공유 볼륨 없이 같은 원본/썸네일을 보도록 한다
+///
+/// - 업로드: 길이를 아는 스트림을 그대로 PUT (UNSIGNED-PAYLOAD, 본문 버퍼링 없음)
+/// - 다운로드: Range 헤더로 필요한 구간만 GET
+/// - 일괄 삭제: Multi-Object Delete(POST ?delete)로 최대 1000 개 키를 요청 하나에 삭제
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "images.storage.type", havingValue = "s3")
+public class S3ObjectStorage implements ObjectStorage {
+
+    private static final String CONTENT_SHA256_HEADER = "x-amz-content-sha256";
+    private static final String DATE_HEADER = "x-amz-date";
+    private static final int MAX_DELETE_KEYS = 1000;
+
+    private final URI endpoint;
+    private final String bucket;
+    private final AwsSigV4Signer signer;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public S3ObjectStorage(
+            @Value("${images.storage.s3.endpoint}") String endpoint,
+            @Value("${images.storage.s3.region:us-east-1}") String region,
+            @Value("${images.storage.s3.bucket}") String bucket,
+            @Value("${images.storage.s3.access-key}") String accessKey,
+            @Value("${images.storage.s3.secret-key}") String secretKey,
+            @Value("${images.storage.s3.connect-timeout-millis:2000}") long connectTimeoutMillis,
+            @Value("${images.storage.s3.request-timeout-millis:10000}") long requestTimeoutMillis
+    ) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.signer = new AwsSigV4Signer(accessKey, secretKey, region);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long length, String contentType) throws IOException {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> content), length
+        );
+        HttpRequest.Builder request = signedRequest("PUT", key, body);
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+
+        HttpResponse<Void> response = send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw failure("PUT", key, response.statusCode());
+        }
+    }
+
+    @Override
+    public ObjectStat statOrNull(String key) throws IOException {
+        HttpResponse<Void> response = send(
+                signedRequest("HEAD", key, HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding()
+        );
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw failure("HEAD", key, response.statusCode());
+        }
+
+        long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        long lastModified = response.headers().firstValue("Last-Modified")
+                .map(this::parseHttpDate)
+                .orElse(-1L);
+        return new ObjectStat(length, lastModified);
+    }
+
+    @Override
+    public InputStream openOrNull(String key, long offset, long length) throws IOException {
+        boolean ranged = offset > 0 || length >= 0;
+        HttpRequest.Builder request = signedRequest("GET", key, HttpRequest.BodyPublishers.noBody());
+        if (ranged) {
+            request.header("Range", "bytes=" + offset + "-" + (length >= 0 ? String.valueOf(offset + length - 1) : ""));
+        }
+
+        HttpResponse<InputStream> response = send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        int status = response.statusCode();
+        if (status == 404) {
+            response.body().close();
+            return null;
+        }
+        if (status == 206) {
+            return response.body();
+        }
+        if (status == 200) {
+            // Range 를 무시하고 전체 본문을 준 경우 직접 구간을 잘라낸다
+            InputStream body = response.body();
+            if (ranged) {
+                body.skipNBytes(offset);
+                return length >= 0 ? new BoundedInputStream(body, length) : body;
+            }
+            return body;
+        }
+        response.body().close();
+        throw failure("GET", key, status);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<Void> response = send(
+                signedRequest("DELETE", key, HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding()
+        );
+        // S3 는 없는 키의 삭제도 204
+        if (response.statusCode() != 204 && response.statusCode() != 200 && response.statusCode() != 404) {
+            throw failure("DELETE", key, response.statusCode());
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) throws IOException {
+        List<String> remaining = List.copyOf(keys);
+        if (remaining.size() == 1) {
+            delete(remaining.get(0));
+            return;
+        }
+        for (int from = 0; from < remaining.size(); from += MAX_DELETE_KEYS) {
+            deleteBatch(remaining.subList(from, Math.min(from + MAX_DELETE_KEYS, remaining.size())));
+        }
+    }
+
+    /// helpers ///
+
+    /// Quiet 모드라 응답에는 실패한 키만 <Error> 로 실린다
+    private void deleteBatch(List<String> keys) throws IOException {
+        byte[] body = deleteRequestBody(keys);
+        URI uri = URI.create(endpoint + AwsSigV4Signer.encodePath("/" + bucket) + "?delete");
+        HttpRequest request = signedRequest("POST", uri, HttpRequest.BodyPublishers.ofByteArray(body))
+                .header("Content-Type", "application/xml")
+                .header("Content-MD5", Base64.getEncoder().encodeToString(md5(body)))
+                .build();
+
+        HttpResponse<byte[]> response = send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw failure("POST", "?delete (" + keys.size() + " keys)", response.statusCode());
+        }
+
+        List<String> failedKeys = parseDeleteErrors(response.body());
+        if (!failedKeys.isEmpty()) {
+            log.warn("Object storage bulk delete partially failed - bucket: {}, keys: {}", bucket, failedKeys);
+            throw new IOException("Object storage bulk delete failed for " + failedKeys);
+        }
+    }
+
+    private byte[] deleteRequestBody(List<String> keys) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<Delete xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"><Quiet>true</Quiet>");
+        for (String key : keys) {
+            xml.append("<Object><Key>").append(escapeXml(key)).append("</Key></Object>");
+        }
+        return xml.append("</Delete>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<String> parseDeleteErrors(byte[] body) throws IOException {
+        List<String> failedKeys = new ArrayList<>();
+        if (body.length == 0) {
+            return failedKeys;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(body));
+
+            NodeList errors = document.getElementsByTagNameNS("*", "Error");
+            for (int i = 0; i < errors.getLength(); i++) {
+                NodeList key = ((Element) errors.item(i)).getElementsByTagNameNS("*", "Key");
+                failedKeys.add(key.getLength() > 0 ? key.item(0).getTextContent() : "?");
+            }
+            return failedKeys;
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Malformed object storage delete response", e);
+        }
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String key, HttpRequest.BodyPublisher body) {
+        return signedRequest(method, URI.create(endpoint + AwsSigV4Signer.encodePath("/" + bucket + "/" + key)), body);
+    }
+
+    private HttpRequest.Builder signedRequest(String method, URI uri, HttpRequest.BodyPublisher body) {
+        Instant now = Instant.now();
+        String amzDate = AwsSigV4Signer.amzDate(now);
+
+        Map<String, String> signedHeaders = new LinkedHashMap<>();
+        signedHeaders.put("host", hostHeader(uri));
+        signedHeaders.put(CONTENT_SHA256_HEADER, AwsSigV4Signer.UNSIGNED_PAYLOAD);
+        signedHeaders.put(DATE_HEADER, amzDate);
+
+        return HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .method(method, body)
+                .header(CONTENT_SHA256_HEADER, AwsSigV4Signer.UNSIGNED_PAYLOAD)
+                .header(DATE_HEADER, amzDate)
+                .header("Authorization", signer.authorization(method, uri, signedHeaders, AwsSigV4Signer.UNSIGNED_PAYLOAD, now));
+    }
+
+    /// HttpClient 가 보내는 Host 헤더와 같은 값 (기본 포트는 생략)
+    private String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("http".equalsIgnoreCase(uri.getScheme()) && port == 80)
+                || ("https".equalsIgnoreCase(uri.getScheme()) && port == 443);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during object storage request: " + request.uri());
+        }
+    }
+
+    private long parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("'", "&apos;");
+    }
+
+    private static byte[] md5(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private IOException failure(String method, String key, int status) {
+        log.warn("Object storage request failed - method: {}, bucket: {}, key: {}, status: {}", method, bucket, key, status);
+        return new IOException("Object storage " + method + " failed for " + key + ": HTTP " + status);
+    }
+}
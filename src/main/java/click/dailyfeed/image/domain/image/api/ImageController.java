@@ -1,89 +1,463 @@
 package click.dailyfeed.image.domain.image.api;
 
+import click.dailyfeed.code.domain.image.exception.ImageException;
 import click.dailyfeed.code.domain.image.exception.ImageProcessingFailException;
 import click.dailyfeed.code.domain.image.exception.ImageReadingFailException;
 import click.dailyfeed.code.domain.member.member.dto.MemberProfileDto;
 import click.dailyfeed.code.global.web.code.ResponseSuccessCode;
 import click.dailyfeed.code.global.web.response.DailyfeedServerResponse;
+import click.dailyfeed.image.domain.file.service.FileTransferService;
+import click.dailyfeed.image.domain.file.storage.ObjectStorageResource;
+import click.dailyfeed.image.domain.image.dto.ImageContent;
+import click.dailyfeed.image.domain.image.dto.ImageDeleteReport;
+import click.dailyfeed.image.domain.image.dto.ImageUploadResult;
+import click.dailyfeed.image.domain.image.dto.UploadSessionStatus;
+import click.dailyfeed.image.domain.image.exception.ImagePixelLimitExceededException;
+import click.dailyfeed.image.domain.image.exception.ImageProcessingRejectedException;
+import click.dailyfeed.image.domain.image.service.ImageDeleteService;
+import click.dailyfeed.image.domain.image.service.ImageVariantService;
 import click.dailyfeed.image.domain.image.service.ProfileImageStorageService;
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import click.dailyfeed.image.domain.image.type.ImageVariant;
+import click.dailyfeed.image.domain.image.upload.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
     private final ProfileImageStorageService imageService;
+    private final ExecutorService imageProcessingExecutor;
+    private final FileTransferService fileTransferService;
+    private final ImageVariantService imageVariantService;
+    private final ImageDeleteService imageDeleteService;
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Value("${images.upload.max-batch-size:10}")
+    private int maxBatchSize;
+
+    // 이미지 ID 는 랜덤 UUID 이고 저장 후 내용이 바뀌지 않으므로 1년 + immutable 캐시
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
 
     @PostMapping("/upload")
-    public DailyfeedServerResponse<String> uploadImage(@RequestParam("image") MultipartFile file) {
-        try {
-            String imageId = imageService.store(file);
-            return DailyfeedServerResponse.<String>builder()
-                    .result(ResponseSuccessCode.SUCCESS)
-                    .status(HttpStatus.OK.value())
-                    .data(imageId)
-                    .build();
-        } catch (IOException e) {
-            throw new ImageProcessingFailException();
-        }
+    public CompletableFuture<DailyfeedServerResponse<String>> uploadImage(@RequestParam("image") MultipartFile file) {
+        return storeAsync(file)
+                .thenApply(imageId -> DailyfeedServerResponse.<String>builder()
+                        .result(ResponseSuccessCode.SUCCESS)
+                        .status(HttpStatus.OK.value())
+                        .data(imageId)
+                        .build());
     }
 
     @PostMapping("/upload/profile")
-    public DailyfeedServerResponse<String> uploadProfileImage(
+    public CompletableFuture<DailyfeedServerResponse<String>> uploadProfileImage(
             @RequestParam("image") MultipartFile file
     ) {
+        return storeAsync(file)
+                .thenApply(imageId -> DailyfeedServerResponse.<String>builder()
+                        .result(ResponseSuccessCode.SUCCESS)
+                        .status(HttpStatus.OK.value())
+                        .data(imageId)
+                        .build());
+    }
+
+    /// 여러 장 업로드: image 파트마다 이미지 처리 풀에서 병렬로 저장하고, 요청 순서대로 항목별 ID/오류를 응답
+    /// 한 항목의 실패(검증 실패, 처리 큐 포화 포함)는 다른 항목에 영향을 주지 않으며, 실패한 항목이 남긴 파일은 저장 단계에서 정리된다
+    @PostMapping("/upload/batch")
+    public CompletableFuture<DailyfeedServerResponse<List<ImageUploadResult>>> uploadImages(
+            @RequestParam("image") List<MultipartFile> files
+    ) {
+        if (files.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    String.format("Too many images in one request: %d (max %d)", files.size(), maxBatchSize)
+            );
+        }
+
+        List<CompletableFuture<ImageUploadResult>> results = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            results.add(storeItemAsync(i, files.get(i)));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> DailyfeedServerResponse.<List<ImageUploadResult>>builder()
+                        .result(ResponseSuccessCode.SUCCESS)
+                        .status(HttpStatus.OK.value())
+                        .data(results.stream().map(CompletableFuture::join).toList())
+                        .build());
+    }
+
+    /// 이어 올리기 세션 생성. 이후 PUT /upload/sessions/{uploadId}?offset= 로 청크를 순서대로 보낸다
+    @PostMapping("/upload/sessions")
+    public ResponseEntity<DailyfeedServerResponse<UploadSessionStatus>> createUploadSession(
+            @RequestParam("size") long size,
+            @RequestParam("contentType") String contentType,
+            @RequestParam(value = "fileName", required = false) String fileName
+    ) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(uploadSessionResponse(chunkedUploadService.create(fileName, contentType, size), HttpStatus.CREATED));
+    }
+
+    /// 청크 하나 (요청 본문 그대로). offset 이 받은 바이트 수와 다르면 409 + Upload-Offset
+    @PutMapping("/upload/sessions/{uploadId}")
+    public DailyfeedServerResponse<UploadSessionStatus> uploadChunk(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("offset") long offset,
+            HttpServletRequest request
+    ) throws IOException {
+        return uploadSessionResponse(chunkedUploadService.append(uploadId, offset, request.getInputStream()), HttpStatus.OK);
+    }
+
+    /// 연결이 끊긴 뒤 이어서 보낼 위치 확인
+    @GetMapping("/upload/sessions/{uploadId}")
+    public DailyfeedServerResponse<UploadSessionStatus> getUploadSession(@PathVariable("uploadId") String uploadId) {
+        return uploadSessionResponse(chunkedUploadService.status(uploadId), HttpStatus.OK);
+    }
+
+    /// 모든 청크를 받은 뒤 한 번만 이미지 처리 (일반 업로드와 같은 처리 풀, 포화 시 503 이고 세션은 남아 다시 완료 요청 가능)
+    /// 이미 완료 처리 중인 세션은 409
+    @PostMapping("/upload/sessions/{uploadId}/complete")
+    public CompletableFuture<DailyfeedServerResponse<String>> completeUploadSession(
+            @PathVariable("uploadId") String uploadId
+    ) {
+        MultipartFile file = chunkedUploadService.complete(uploadId);
+        CompletableFuture<String> stored;
         try {
-            String imageId = imageService.store(file);
-            return DailyfeedServerResponse.<String>builder()
-                    .result(ResponseSuccessCode.SUCCESS)
-                    .status(HttpStatus.OK.value())
-                    .data(imageId)
-                    .build();
-        } catch (IOException e) {
-            throw new ImageProcessingFailException();
+            stored = storeAsync(file);
+        } catch (ImageProcessingRejectedException e) {
+            chunkedUploadService.reopen(uploadId);
+            throw e;
         }
+        return stored
+                .whenComplete((imageId, e) -> {
+                    // 저장에 성공했거나 본문 자체가 잘못된 경우만 세션을 지운다. 서버 쪽 실패는 같은 세션으로 다시 완료 요청 가능
+                    if (e == null || isClientError(e)) {
+                        chunkedUploadService.discard(uploadId);
+                    } else {
+                        chunkedUploadService.reopen(uploadId);
+                    }
+                })
+                .thenApply(imageId -> DailyfeedServerResponse.<String>builder()
+                        .result(ResponseSuccessCode.SUCCESS)
+                        .status(HttpStatus.OK.value())
+                        .data(imageId)
+                        .build());
+    }
+
+    @DeleteMapping("/upload/sessions/{uploadId}")
+    public ResponseEntity<Void> cancelUploadSession(@PathVariable("uploadId") String uploadId) {
+        chunkedUploadService.discard(uploadId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/view/{imageId}")
-    public ResponseEntity<Resource> getImage(@PathVariable("imageId") String imageId,
-                                             @RequestParam(value = "thumbnail", defaultValue = "false") Boolean isThumbnail) {
-        Resource image = imageService.get(imageId, isThumbnail);
-        if (image != null) {
-            String contentType = "image/jpeg";
-            if (imageId.toLowerCase().endsWith(".png")) {
-                contentType = "image/png";
-            } else if (imageId.toLowerCase().endsWith(".gif")) {
-                contentType = "image/gif";
-            } else if (imageId.toLowerCase().endsWith(".webp")) {
-                contentType = "image/webp";
+    public ResponseEntity<?> getImage(@PathVariable("imageId") String imageId,
+                                      @RequestParam(value = "thumbnail", defaultValue = "false") Boolean isThumbnail,
+                                      @RequestParam(value = "w", required = false) Integer width,
+                                      @RequestParam(value = "h", required = false) Integer height,
+                                      @RequestParam(value = "fit", required = false) String fit,
+                                      ServletWebRequest webRequest) throws IOException {
+        // w/h 가 있으면 허용 목록으로 보정한 변형 이미지를 제공
+        ImageVariant variant = (width != null || height != null)
+                ? imageVariantService.resolveVariant(width, height, fit)
+                : null;
+
+        // Accept 협상: WebP 를 받을 수 있으면 WebP, 아니면 저장 포맷(JPEG/PNG) 그대로
+        ImageFormat requestedFormat = imageService.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+        boolean varyAccept = imageService.isNegotiable();
+
+        // 저장된 이미지는 변경되지 않으므로 ETag 가 일치하면 파일에 접근하지 않고 바로 304
+        // (If-None-Match: * 는 이미지가 있을 때만 일치하므로 조회 후 checkNotModified 에서 판단)
+        String eTag = variant != null
+                ? imageService.eTagOf(imageId, variant, requestedFormat)
+                : imageService.eTagOf(imageId, isThumbnail, requestedFormat);
+        if (eTag != null && matchesIfNoneMatch(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            ResponseEntity.BodyBuilder notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+            if (varyAccept) {
+                notModified.varyBy(HttpHeaders.ACCEPT);
+            }
+            return notModified.build();
+        }
+
+        ImageContent content = variant != null
+                ? imageService.getVariant(imageId, variant, requestedFormat)
+                : imageService.get(imageId, isThumbnail, requestedFormat);
+        if (content != null) {
+            Resource image = content.resource();
+            MediaType mediaType = content.format().getMediaType();
+
+            // 공유 캐시(CDN)가 Accept 별로 다른 표현을 구분해 저장하도록
+            if (varyAccept) {
+                webRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+
+            // If-Modified-Since 는 sendfile 위임 전에 직접 판단 (304 응답에 파일 본문이 실리지 않도록)
+            // ETag/Last-Modified 헤더는 checkNotModified 가 응답에 설정한다
+            long lastModified = lastModifiedOf(image);
+            if (webRequest.checkNotModified(eTag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL)
+                        .build();
             }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + imageId + "\"")
-                    .body(image);
+            String range = webRequest.getHeader(HttpHeaders.RANGE);
+            if (range == null) {
+                return fullContent(image, imageId, mediaType, webRequest, false);
+            }
+
+            // If-Range 가 현재 표현과 다르면 Range 를 무시하고 전체 본문
+            if (!isIfRangeSatisfied(webRequest, eTag, lastModified)) {
+                return fullContent(image, imageId, mediaType, webRequest, true);
+            }
+            return partialContent(image, range, mediaType, webRequest);
         }
         throw new ImageReadingFailException();
     }
 
+    /// 일괄 삭제. 기본은 모든 항목을 처리한 뒤 항목별 결과를 응답하고,
+    /// async=true 면 작업 ID 만 바로 응답한다 (진행 상황은 /view/command/delete/operations/{operationId})
     @PostMapping("/view/command/delete/in")
-    public DailyfeedServerResponse<Boolean> deleteImage(
-            @RequestBody MemberProfileDto.ImageDeleteBulkRequest imageDeleteBulkRequest
+    public CompletableFuture<DailyfeedServerResponse<ImageDeleteReport>> deleteImage(
+            @RequestBody MemberProfileDto.ImageDeleteBulkRequest imageDeleteBulkRequest,
+            @RequestParam(value = "async", defaultValue = "false") boolean async
     ) {
-        imageService.deleteImages(imageDeleteBulkRequest);
-        return DailyfeedServerResponse.<Boolean>builder()
+        List<String> imageUrls = imageDeleteBulkRequest != null && imageDeleteBulkRequest.getImageUrls() != null
+                ? imageDeleteBulkRequest.getImageUrls()
+                : List.of();
+
+        CompletableFuture<ImageDeleteReport> report = async
+                ? CompletableFuture.completedFuture(imageDeleteService.submit(imageUrls))
+                : imageDeleteService.deleteAll(imageUrls);
+        return report.thenApply(deleteReport -> DailyfeedServerResponse.<ImageDeleteReport>builder()
                 .result(ResponseSuccessCode.SUCCESS)
                 .status(HttpStatus.OK.value())
-                .data(Boolean.TRUE)
+                .data(deleteReport)
+                .build());
+    }
+
+    @GetMapping("/view/command/delete/operations/{operationId}")
+    public ResponseEntity<DailyfeedServerResponse<ImageDeleteReport>> getDeleteOperation(
+            @PathVariable("operationId") String operationId
+    ) {
+        ImageDeleteReport report = imageDeleteService.getReportOrNull(operationId);
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(DailyfeedServerResponse.<ImageDeleteReport>builder()
+                            .result(ResponseSuccessCode.FAIL)
+                            .status(HttpStatus.NOT_FOUND.value())
+                            .build());
+        }
+        return ResponseEntity.ok(DailyfeedServerResponse.<ImageDeleteReport>builder()
+                .result(ResponseSuccessCode.SUCCESS)
+                .status(HttpStatus.OK.value())
+                .data(report)
+                .build());
+    }
+
+    /// 리사이즈/인코딩은 전용 풀에서 처리하고 요청 스레드는 바로 반환 (큐 포화 시 503)
+    private CompletableFuture<String> storeAsync(MultipartFile file) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return imageService.store(file);
+                } catch (IOException e) {
+                    throw new ImageProcessingFailException();
+                }
+            }, imageProcessingExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ImageProcessingRejectedException();
+        }
+    }
+
+    /// 일괄 업로드 항목 하나. 실패는 예외 대신 항목 결과로 돌려준다 (큐 포화는 503)
+    private CompletableFuture<ImageUploadResult> storeItemAsync(int index, MultipartFile file) {
+        String fileName = file.getOriginalFilename();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ImageUploadResult.stored(index, fileName, imageService.store(file));
+                } catch (Exception e) {
+                    return toFailedResult(index, fileName, e);
+                }
+            }, imageProcessingExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ImageUploadResult.failed(
+                    index, fileName, HttpStatus.SERVICE_UNAVAILABLE.value(), new ImageProcessingRejectedException().getMessage()
+            ));
+        }
+    }
+
+    /// store 는 디코딩 이후 단계의 실패를 IOException 으로 감싸므로 원인 예외로 상태를 정한다
+    private ImageUploadResult toFailedResult(int index, String fileName, Exception e) {
+        Throwable cause = e instanceof IOException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ImageException imageException) {
+            return ImageUploadResult.failed(
+                    index, fileName,
+                    imageException.getImageExceptionCode().getStatusCode(),
+                    imageException.getImageExceptionCode().getMessage()
+            );
+        }
+        if (cause instanceof ImagePixelLimitExceededException) {
+            return ImageUploadResult.failed(index, fileName, HttpStatus.PAYLOAD_TOO_LARGE.value(), cause.getMessage());
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return ImageUploadResult.failed(index, fileName, HttpStatus.BAD_REQUEST.value(), cause.getMessage());
+        }
+        return ImageUploadResult.failed(index, fileName, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to store image");
+    }
+
+    /// 검증 실패/깨진 본문/픽셀 한도 초과처럼 같은 본문으로 다시 요청해도 실패하는 오류인지
+    private boolean isClientError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ImageException imageException) {
+            return imageException.getImageExceptionCode().getStatusCode() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+        return cause instanceof IllegalArgumentException || cause instanceof ImagePixelLimitExceededException;
+    }
+
+    private DailyfeedServerResponse<UploadSessionStatus> uploadSessionResponse(UploadSessionStatus status, HttpStatus httpStatus) {
+        return DailyfeedServerResponse.<UploadSessionStatus>builder()
+                .result(ResponseSuccessCode.SUCCESS)
+                .status(httpStatus.value())
+                .data(status)
                 .build();
     }
+
+    /// If-None-Match: "a", W/"b" 목록 (GET 은 약한 비교). "*" 는 존재 여부를 모르는 조회 전에는 일치로 보지 않는다
+    private boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long lastModifiedOf(Resource image) {
+        try {
+            return image.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private ResponseEntity<?> fullContent(
+            Resource image, String imageId, MediaType mediaType,
+            ServletWebRequest webRequest, boolean rangeIgnored
+    ) throws IOException {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + imageId + "\"");
+
+        // 디스크 파일은 커널 sendfile 로 zero-copy 전송 (본문은 톰캣이 직접 씀)
+        if (image.isFile()) {
+            long length = image.contentLength();
+            if (fileTransferService.trySendfile(webRequest.getRequest(), image.getFile().toPath(), 0, length)) {
+                return response.contentLength(length).build();
+            }
+        }
+
+        if (rangeIgnored) {
+            // Resource 본문이면 Spring 이 Range 헤더를 자동 적용하므로, 전체 본문을 보내도록 InputStreamResource 로 감싼다
+            return response.contentLength(image.contentLength())
+                    .body(new InputStreamResource(image.getInputStream()));
+        }
+        return response.body(image);
+    }
+
+    /// Range 요청 처리 (206). 단일 구간은 sendfile(start/end) 또는 저장소 구간 조회, 여러 구간은 multipart/byteranges
+    /// 파일 리소스의 구간 읽기는 FileChannel 기반 스트림의 seek(skip)으로 처리된다
+    private ResponseEntity<?> partialContent(
+            Resource image, String range, MediaType mediaType, ServletWebRequest webRequest
+    ) throws IOException {
+        long length = image.contentLength();
+
+        List<ResourceRegion> regions;
+        try {
+            regions = HttpRange.toResourceRegions(HttpRange.parseRanges(range), image);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+
+        if (regions.size() == 1) {
+            ResourceRegion region = regions.get(0);
+            long start = region.getPosition();
+            long end = start + region.getCount();
+
+            if (image.isFile() && fileTransferService.trySendfile(webRequest.getRequest(), image.getFile().toPath(), start, end)) {
+                return response.contentType(mediaType)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length)
+                        .contentLength(region.getCount())
+                        .build();
+            }
+            // 원격 저장소 객체는 요청 구간만 받아 그대로 전달 (전체를 받아 건너뛰지 않음)
+            if (image instanceof ObjectStorageResource objectResource) {
+                return response.contentType(mediaType)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length)
+                        .contentLength(region.getCount())
+                        .body(new InputStreamResource(objectResource.getInputStream(start, region.getCount())));
+            }
+            // Content-Range/Content-Length 는 ResourceRegionHttpMessageConverter 가 설정
+            return response.contentType(mediaType).body(region);
+        }
+
+        // multipart/byteranges (Content-Type 과 boundary 는 컨버터가 설정)
+        return response.body(regions);
+    }
+
+    /// If-Range: ETag 는 강한 비교, HTTP-date 는 Last-Modified 와 정확히 일치해야 한다
+    private boolean isIfRangeSatisfied(ServletWebRequest webRequest, String eTag, long lastModified) {
+        String ifRange = webRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return eTag != null && eTag.equals(value);
+        }
+
+        try {
+            long date = webRequest.getRequest().getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified > 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
@@ -9,9 +9,16 @@ import click.dailyfeed.code.domain.member.token.exception.TokenRefreshNeededExce
 import click.dailyfeed.code.global.jwt.exception.InvalidTokenException;
 import click.dailyfeed.code.global.web.code.ResponseSuccessCode;
 import click.dailyfeed.code.global.web.response.DailyfeedErrorResponse;
+import click.dailyfeed.image.domain.image.exception.ImagePixelLimitExceededException;
+import click.dailyfeed.image.domain.image.exception.ImageProcessingRejectedException;
+import click.dailyfeed.image.domain.image.exception.UploadOffsetMismatchException;
+import click.dailyfeed.image.domain.image.exception.UploadSessionBusyException;
+import click.dailyfeed.image.domain.image.exception.UploadSessionNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -20,6 +27,12 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j
 @RestControllerAdvice(basePackages = "click.dailyfeed.image.domain.image.api")
 public class ImageControllerAdvice {
+    // 이어 올리기에서 서버가 받은 바이트 수 (다음 청크의 offset)
+    private static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+
+    @Value("${images.processing.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
     @ExceptionHandler(CommentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public DailyfeedErrorResponse handleCommentException(
@@ -102,6 +115,105 @@ public class ImageControllerAdvice {
         );
     }
 
+    @ExceptionHandler(ImageProcessingRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public DailyfeedErrorResponse handleImageProcessingRejectedException(
+            ImageProcessingRejectedException e,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+
+        log.warn("Image processing rejected (queue saturated), path: {}", request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        return DailyfeedErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ResponseSuccessCode.FAIL,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(ImagePixelLimitExceededException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public DailyfeedErrorResponse handleImagePixelLimitExceededException(
+            ImagePixelLimitExceededException e,
+            HttpServletRequest request) {
+
+        log.warn("Image rejected: {}, path: {}", e.getMessage(), request.getRequestURI());
+
+        return DailyfeedErrorResponse.of(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                ResponseSuccessCode.FAIL,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public DailyfeedErrorResponse handleUploadSessionNotFoundException(
+            UploadSessionNotFoundException e,
+            HttpServletRequest request) {
+
+        return DailyfeedErrorResponse.of(
+                HttpStatus.NOT_FOUND.value(),
+                ResponseSuccessCode.FAIL,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(UploadOffsetMismatchException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public DailyfeedErrorResponse handleUploadOffsetMismatchException(
+            UploadOffsetMismatchException e,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+
+        log.debug("Chunk offset mismatch: {}, path: {}", e.getMessage(), request.getRequestURI());
+        response.setHeader(UPLOAD_OFFSET_HEADER, String.valueOf(e.getExpectedOffset()));
+
+        return DailyfeedErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                ResponseSuccessCode.FAIL,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    @ExceptionHandler(UploadSessionBusyException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public DailyfeedErrorResponse handleUploadSessionBusyException(
+            UploadSessionBusyException e,
+            HttpServletRequest request) {
+
+        log.debug("Upload session busy: {}, path: {}", e.getMessage(), request.getRequestURI());
+
+        return DailyfeedErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                ResponseSuccessCode.FAIL,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    // 요청 값 검증 실패 (청크 크기 초과, 미완료 업로드 완료 요청, 일괄 업로드 개수 초과 등)
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public DailyfeedErrorResponse handleIllegalArgumentException(
+            IllegalArgumentException e,
+            HttpServletRequest request) {
+
+        log.warn("Invalid request: {}, path: {}", e.getMessage(), request.getRequestURI());
+
+        return DailyfeedErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                ResponseSuccessCode.FAIL,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
     // 일반적인 RuntimeException 처리 (예상치 못한 오류)
     @ExceptionHandler(RuntimeException.class)
     public DailyfeedErrorResponse handleRuntimeException(
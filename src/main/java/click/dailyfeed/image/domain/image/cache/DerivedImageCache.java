@@ -0,0 +1,86 @@
+package click.dailyfeed.image.domain.image.cache;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import click.dailyfeed.image.domain.image.type.ImageVariant;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/// 인코딩된 파생 이미지(썸네일, 리사이즈 변형) 바이트의 인메모리 캐시 (W-TinyLFU, 바이트 단위 용량 제한)
+/// 업로드/생성 시 채우고, 조회 미스 시 디스크에서 읽어 채우며, 삭제 시 이미지 단위로 무효화한다
+///
+/// 원본이 저장된 키/포맷도 함께 보관해, 조회마다 저장 포맷 x 배치 후보를 차례로 확인(S3 면 HEAD 요청)하지 않게 한다
+@Component
+public class DerivedImageCache {
+
+    private final Cache<String, byte[]> cache;
+    private final Cache<String, StoredLocation> storedLocations;
+
+    public DerivedImageCache(
+            @Value("${images.cache.derived.max-bytes:67108864}") long maxBytes, // 64MB default
+            @Value("${images.cache.stored-locations.max-entries:100000}") long maxStoredLocations,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, byte[] bytes) -> bytes.length)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size 등을 Prometheus 로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "image.derived");
+
+        this.storedLocations = Caffeine.newBuilder()
+                .maximumSize(maxStoredLocations)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, storedLocations, "image.stored.location");
+    }
+
+    public static String thumbnailKey(String imageId) {
+        return imageId + "-thumbnail";
+    }
+
+    public static String variantKey(String imageId, ImageVariant variant, ImageFormat format) {
+        return derivedKey(imageId, variant.key(), format);
+    }
+
+    /// 포맷이 지정된 파생 이미지 키 (예: <id>-thumbnail.webp, <id>-128x128-cover.jpg)
+    public static String derivedKey(String imageId, String name, ImageFormat format) {
+        return imageId + "-" + name + "." + format.getFormatName();
+    }
+
+    public byte[] get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, byte[] bytes) {
+        cache.put(key, bytes);
+    }
+
+    /// 원본이 저장된 키/포맷 (모르면 null). 다른 파드의 삭제/마이그레이션으로 낡을 수 있으므로 호출 측이 존재를 확인한다
+    public StoredLocation getStoredLocation(String imageId) {
+        return storedLocations.getIfPresent(imageId);
+    }
+
+    public void putStoredLocation(String imageId, StoredLocation location) {
+        storedLocations.put(imageId, location);
+    }
+
+    public void invalidateStoredLocation(String imageId) {
+        storedLocations.invalidate(imageId);
+    }
+
+    /// 이미지 ID 에 속한 썸네일/변형 항목과 원본 위치를 모두 제거
+    public void invalidateImage(String imageId) {
+        String prefix = imageId + "-";
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        storedLocations.invalidate(imageId);
+    }
+
+    public record StoredLocation(String key, ImageFormat format) {
+    }
+}
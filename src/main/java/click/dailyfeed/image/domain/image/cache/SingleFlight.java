@@ -0,0 +1,89 @@
+package click.dailyfeed.image.domain.image.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/// 같은 키(이미지 ID + 변형)에 대한 동시 캐시 미스를 하나의 로드로 병합 (single-flight)
+/// 처음 들어온 요청(leader)만 loader 를 실행하고, 나머지는 그 결과를 기다린다
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    // name 별 미터 (요청마다 등록하지 않도록 한 번만 생성)
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("image.singleflight.inflight", inFlight, Map::size)
+                .description("Loads currently in flight")
+                .register(meterRegistry);
+    }
+
+    /// name 은 메트릭 태그 겸 키 네임스페이스 (예: thumbnail, variant)
+    /// loader 의 예외는 leader 와 대기 중인 모든 요청에 그대로 전달된다
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String name, String key, Supplier<V> loader) {
+        String flightKey = name + ":" + key;
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, created);
+        Meters namedMeters = meters.computeIfAbsent(name, this::register);
+
+        if (existing != null) {
+            namedMeters.coalesced().increment();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return (V) await(existing);
+            } finally {
+                sample.stop(namedMeters.waitTimer());
+            }
+        }
+
+        namedMeters.loads().increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, created);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // loader 는 Supplier 이므로 원인은 항상 unchecked
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Meters register(String name) {
+        return new Meters(
+                Counter.builder("image.singleflight.loads").tag("name", name).register(meterRegistry),
+                Counter.builder("image.singleflight.coalesced").tag("name", name).register(meterRegistry),
+                Timer.builder("image.singleflight.wait").tag("name", name).register(meterRegistry)
+        );
+    }
+
+    private record Meters(Counter loads, Counter coalesced, Timer waitTimer) {
+    }
+}
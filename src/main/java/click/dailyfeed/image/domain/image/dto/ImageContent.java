@@ -0,0 +1,8 @@
+package click.dailyfeed.image.domain.image.dto;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import org.springframework.core.io.Resource;
+
+/// 조회된 이미지 본문과 그 인코딩 포맷 (Content-Type 결정용)
+public record ImageContent(Resource resource, ImageFormat format) {
+}
@@ -0,0 +1,34 @@
+package click.dailyfeed.image.domain.image.dto;
+
+import java.util.List;
+
+/// 일괄 삭제 작업의 진행 상황과 항목별 결과 (results 는 요청 순서, 끝난 항목만)
+/// operationId 는 비동기 모드에서만 채워진다 (동기 모드는 null)
+public record ImageDeleteReport(
+        String operationId,
+        boolean completed,
+        int total,
+        int deleted,
+        int retained,
+        int invalid,
+        int failed,
+        List<ImageDeleteResult> results
+) {
+
+    public static ImageDeleteReport of(String operationId, int total, List<ImageDeleteResult> results) {
+        return new ImageDeleteReport(
+                operationId,
+                results.size() == total,
+                total,
+                count(results, ImageDeleteResult.Status.DELETED),
+                count(results, ImageDeleteResult.Status.RETAINED),
+                count(results, ImageDeleteResult.Status.INVALID),
+                count(results, ImageDeleteResult.Status.FAILED),
+                results
+        );
+    }
+
+    private static int count(List<ImageDeleteResult> results, ImageDeleteResult.Status status) {
+        return (int) results.stream().filter(result -> result.status() == status).count();
+    }
+}
@@ -0,0 +1,20 @@
+package click.dailyfeed.image.domain.image.dto;
+
+/// 일괄 삭제 요청의 항목(URL)별 결과
+public record ImageDeleteResult(String imageUrl, Status status, String message) {
+
+    public enum Status {
+        DELETED,   // 원본/썸네일/변형 삭제
+        RETAINED,  // 같은 내용의 다른 참조가 남아 있어 파일 유지
+        INVALID,   // URL 에서 이미지 ID 를 얻을 수 없음
+        FAILED     // 삭제 중 오류 (다시 요청하면 재시도)
+    }
+
+    public static ImageDeleteResult of(String imageUrl, Status status) {
+        return new ImageDeleteResult(imageUrl, status, null);
+    }
+
+    public static ImageDeleteResult failed(String imageUrl, String message) {
+        return new ImageDeleteResult(imageUrl, Status.FAILED, message);
+    }
+}
@@ -0,0 +1,13 @@
+package click.dailyfeed.image.domain.image.dto;
+
+/// 일괄 업로드의 항목별 결과 (요청의 image 파트 순서). 성공이면 imageId, 실패면 status/error
+public record ImageUploadResult(int index, String fileName, String imageId, int status, String error) {
+
+    public static ImageUploadResult stored(int index, String fileName, String imageId) {
+        return new ImageUploadResult(index, fileName, imageId, 200, null);
+    }
+
+    public static ImageUploadResult failed(int index, String fileName, int status, String error) {
+        return new ImageUploadResult(index, fileName, null, status, error);
+    }
+}
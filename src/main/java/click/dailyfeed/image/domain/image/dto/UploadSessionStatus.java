@@ -0,0 +1,5 @@
+package click.dailyfeed.image.domain.image.dto;
+
+/// 이어 올리기 세션 상태. offset 은 서버가 받은 바이트 수 (다음 청크의 시작 위치)
+public record UploadSessionStatus(String uploadId, long size, long offset, boolean complete) {
+}
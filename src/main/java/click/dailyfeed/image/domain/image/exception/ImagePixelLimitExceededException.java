@@ -0,0 +1,8 @@
+package click.dailyfeed.image.domain.image.exception;
+
+/// 헤더에 선언된 픽셀 수가 max-pixels 를 넘을 때 (413, 클라이언트 입력 문제이므로 처리 실패로 기록하지 않음)
+public class ImagePixelLimitExceededException extends RuntimeException {
+    public ImagePixelLimitExceededException(long maxPixels) {
+        super(String.format("Image dimensions exceed maximum allowed pixels: %d", maxPixels));
+    }
+}
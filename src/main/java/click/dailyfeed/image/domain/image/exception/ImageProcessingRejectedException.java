@@ -0,0 +1,12 @@
+package click.dailyfeed.image.domain.image.exception;
+
+/// 이미지 처리(또는 삭제) 큐가 가득 차서 작업을 받을 수 없을 때 (503 + Retry-After)
+public class ImageProcessingRejectedException extends RuntimeException {
+    public ImageProcessingRejectedException() {
+        this("Image processing queue is full, please retry later");
+    }
+
+    public ImageProcessingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package click.dailyfeed.image.domain.image.exception;
+
+/// 청크의 offset 이 서버가 받은 바이트 수와 다를 때 (409 + Upload-Offset, 클라이언트는 그 위치부터 다시 보낸다)
+public class UploadOffsetMismatchException extends RuntimeException {
+    private final long expectedOffset;
+
+    public UploadOffsetMismatchException(long offset, long expectedOffset) {
+        super(String.format("Chunk offset %d does not match received bytes %d", offset, expectedOffset));
+        this.expectedOffset = expectedOffset;
+    }
+
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
@@ -0,0 +1,8 @@
+package click.dailyfeed.image.domain.image.exception;
+
+/// 다른 요청이 같은 세션에 청크를 쓰는 중이거나 완료 처리 중일 때 (409, 상태 조회 후 다시 시도)
+public class UploadSessionBusyException extends RuntimeException {
+    public UploadSessionBusyException(String message) {
+        super(message);
+    }
+}
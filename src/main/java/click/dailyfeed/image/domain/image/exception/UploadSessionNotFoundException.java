@@ -0,0 +1,8 @@
+package click.dailyfeed.image.domain.image.exception;
+
+/// 이어 올리기 세션이 없거나 만료되어 정리되었을 때 (404, 처음부터 다시 업로드)
+public class UploadSessionNotFoundException extends RuntimeException {
+    public UploadSessionNotFoundException(String uploadId) {
+        super("Upload session not found or expired: " + uploadId);
+    }
+}
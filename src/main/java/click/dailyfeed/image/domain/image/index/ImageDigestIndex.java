@@ -0,0 +1,231 @@
+package click.dailyfeed.image.domain.image.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/// 업로드 내용 해시(SHA-256) → 저장된 이미지 ID 색인과 참조 카운트 (upload-root/.index 하위 파일)
+///
+/// - sha256/<hh>/<digest> : "<imageId> <refCount>"
+/// - ids/<hh>/<imageId>    : "<digest>" (삭제 시 역조회)
+///
+/// 같은 digest 에 대한 갱신은 스트라이프 락으로 직렬화하고, 파일은 임시 파일 + 원자적 이동으로 교체한다
+/// 스트라이프마다 .index/locks 의 잠금 파일도 함께 잡아, 같은 볼륨을 공유하는 다른 파드와도 직렬화한다
+///
+/// 색인은 upload-root 파일이라 images.storage.type=s3 에서는 파드마다 따로 생긴다.
+/// 그러면 다른 파드가 올린 참조 카운트를 모른 채 공유 객체를 지우므로, s3 + dedup 조합은 기동을 거부한다
+@Slf4j
+@Component
+public class ImageDigestIndex {
+
+    private static final String INDEX_DIR = ".index";
+    private static final int LOCK_STRIPES = 64;
+    // 같은 JVM 에서 한 잠금 파일을 두 채널이 겹쳐 잡으면 OverlappingFileLockException 이므로 모니터는 프로세스 전역
+    private static final Object[] LOCKS = new Object[LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    private final Path digestRoot;
+    private final Path idRoot;
+    private final Path lockRoot;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ImageDigestIndex(
+            @Value("${images.upload-root}") String imageRoot,
+            @Value("${images.storage.type:local}") String storageType,
+            @Value("${images.dedup.enabled:true}") boolean dedupEnabled,
+            MeterRegistry meterRegistry
+    ) {
+        if (dedupEnabled && !"local".equals(storageType)) {
+            throw new IllegalStateException(
+                    "images.dedup.enabled=true requires images.storage.type=local (the digest index is kept under upload-root)"
+            );
+        }
+        Path indexRoot = Paths.get(imageRoot, INDEX_DIR);
+        this.digestRoot = indexRoot.resolve("sha256");
+        this.idRoot = indexRoot.resolve("ids");
+        this.lockRoot = indexRoot.resolve("locks");
+
+        this.hitCounter = Counter.builder("image.upload.dedup")
+                .description("Uploads resolved to an already stored image by content digest")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("image.upload.dedup")
+                .description("Uploads resolved to an already stored image by content digest")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /// 같은 내용이 이미 저장되어 있으면 참조 카운트를 올리고 그 이미지 ID 를 반환 (없으면 null)
+    /// isStored 로 실제 파일이 남아 있는지 확인해, 파일이 사라진 항목은 버린다
+    public String acquireOrNull(String digest, Predicate<String> isStored) {
+        return withLock(digest, () -> {
+            Entry entry = readEntryOrNull(digest);
+            if (entry == null || !isStored.test(entry.imageId())) {
+                if (entry != null) {
+                    log.warn("Dropping stale digest entry - digest: {}, imageId: {}", digest, entry.imageId());
+                    deleteQuietly(digestPath(digest));
+                    deleteQuietly(idPath(entry.imageId()));
+                }
+                missCounter.increment();
+                return null;
+            }
+
+            writeEntry(digest, new Entry(entry.imageId(), entry.refCount() + 1));
+            hitCounter.increment();
+            return entry.imageId();
+        });
+    }
+
+    /// 새로 저장한 이미지를 색인에 등록 (참조 1)
+    public void register(String digest, String imageId) {
+        withLock(digest, () -> {
+            // 같은 내용의 동시 업로드가 먼저 등록했다면 덮어쓰지 않는다 (나중 것은 색인 밖의 단독 이미지로 남음)
+            if (readEntryOrNull(digest) != null) {
+                return null;
+            }
+            writeAtomically(idPath(imageId), digest);
+            writeEntry(digest, new Entry(imageId, 1));
+            return null;
+        });
+    }
+
+    /// 참조를 하나 해제. 파일을 실제로 지워도 되면(마지막 참조이거나 색인 밖의 이미지) true
+    public boolean release(String imageId) {
+        String digest = readDigestOrNull(imageId);
+        if (digest == null) {
+            return true;
+        }
+
+        return withLock(digest, () -> {
+            Entry entry = readEntryOrNull(digest);
+            if (entry == null || !entry.imageId().equals(imageId)) {
+                deleteQuietly(idPath(imageId));
+                return true;
+            }
+
+            if (entry.refCount() > 1) {
+                writeEntry(digest, new Entry(imageId, entry.refCount() - 1));
+                log.info("Image still referenced - imageId: {}, refCount: {}", imageId, entry.refCount() - 1);
+                return false;
+            }
+
+            deleteQuietly(digestPath(digest));
+            deleteQuietly(idPath(imageId));
+            return true;
+        });
+    }
+
+    /// 다른 업로드가 아직 참조 중인 이미지인지
+    public boolean isReferenced(String imageId) {
+        String digest = readDigestOrNull(imageId);
+        if (digest == null) {
+            return false;
+        }
+        Entry entry = readEntryOrNull(digest);
+        return entry != null && entry.imageId().equals(imageId) && entry.refCount() > 0;
+    }
+
+    /// helpers ///
+
+    /// 스트라이프 모니터(프로세스 내) + 잠금 파일(같은 볼륨을 쓰는 다른 파드) 을 잡고 실행
+    private <T> T withLock(String digest, Supplier<T> action) {
+        int stripe = Math.floorMod(digest.hashCode(), LOCK_STRIPES);
+        synchronized (LOCKS[stripe]) {
+            try {
+                Files.createDirectories(lockRoot);
+                try (FileChannel channel = FileChannel.open(lockRoot.resolve(stripe + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock ignored = channel.lock()) {
+                    return action.get();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private Path digestPath(String digest) {
+        return digestRoot.resolve(digest.substring(0, 2)).resolve(digest);
+    }
+
+    private Path idPath(String imageId) {
+        return idRoot.resolve(imageId.substring(0, Math.min(2, imageId.length()))).resolve(imageId);
+    }
+
+    private Entry readEntryOrNull(String digest) {
+        String content = readOrNull(digestPath(digest));
+        if (content == null) {
+            return null;
+        }
+        String[] parts = content.trim().split(" ");
+        if (parts.length != 2) {
+            log.warn("Malformed digest entry - digest: {}", digest);
+            return null;
+        }
+        return new Entry(parts[0], Integer.parseInt(parts[1]));
+    }
+
+    private String readDigestOrNull(String imageId) {
+        String content = readOrNull(idPath(imageId));
+        return content != null ? content.trim() : null;
+    }
+
+    private void writeEntry(String digest, Entry entry) {
+        writeAtomically(digestPath(digest), entry.imageId() + " " + entry.refCount());
+    }
+
+    private String readOrNull(Path path) {
+        try {
+            return Files.isRegularFile(path) ? Files.readString(path, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeAtomically(Path path, String content) {
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), ".index-", ".tmp");
+            try {
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete index file: {}", path, e);
+        }
+    }
+
+    private record Entry(String imageId, int refCount) {
+    }
+}
@@ -0,0 +1,188 @@
+package click.dailyfeed.image.domain.image.metrics;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// 업로드/조회 파이프라인 단계별 계측 (/actuator/prometheus)
+///
+/// - image.pipeline.stage{stage, format, size}: 단계별 소요 시간 (고정 SLO 버킷 히스토그램)
+/// - image.pipeline.errors{stage, exception}: 단계에서 던져진 예외 (ImageException 하위 타입 등 클래스 이름별)
+/// - image.pipeline.view{kind, result}: 조회 소요 시간
+/// - image.pipeline.inflight{operation}: 처리 중인 업로드/조회 수
+/// - image.storage.written{kind}: 저장소에 기록한 바이트
+///
+/// 태그 조합별 Timer/Counter 는 처음 한 번만 등록하고 이후에는 맵에서 꺼내 쓴다 (요청마다 builder 생성 없음)
+@Component
+public class ImagePipelineMetrics {
+
+    public enum Stage {
+        VALIDATE, DIGEST, SIGNATURE, FAST_PATH, DECODE, RESIZE, ENCODE, THUMBNAIL, WRITE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public enum Operation {
+        STORE, VIEW;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /// 입력 포맷과 크기 구간 태그
+    public record Tags(String format, String size) {
+    }
+
+    public static final Tags UNKNOWN = new Tags("unknown", "unknown");
+
+    // 태그 값 후보를 고정 (검증 전 Content-Type 이 그대로 태그가 되지 않도록)
+    private static final Set<String> KNOWN_FORMATS = Set.of("jpeg", "png", "webp", "gif", "bmp");
+
+    // 히스토그램 버킷은 고정 (percentile histogram 의 수십 개 버킷 × 태그 조합을 피함)
+    private static final Duration[] SLO_BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5)
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<Operation, AtomicInteger> inFlight = new EnumMap<>(Operation.class);
+
+    public ImagePipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Operation operation : Operation.values()) {
+            AtomicInteger count = new AtomicInteger();
+            inFlight.put(operation, count);
+            Gauge.builder("image.pipeline.inflight", count, AtomicInteger::get)
+                    .description("Uploads or views currently being processed")
+                    .tag("operation", operation.tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /// 업로드 Content-Type 과 크기로 태그 결정 (지원하지 않는 Content-Type 은 other)
+    public Tags tagsOf(String contentType, long bytes) {
+        String format = "unknown";
+        if (contentType != null) {
+            String subtype = contentType.toLowerCase(Locale.ROOT);
+            subtype = subtype.substring(subtype.indexOf('/') + 1);
+            subtype = subtype.equals("jpg") ? "jpeg" : subtype;
+            format = KNOWN_FORMATS.contains(subtype) ? subtype : "other";
+        }
+        return new Tags(format, sizeBucket(bytes));
+    }
+
+    public Tags tagsOf(ImageFormat format, long bytes) {
+        return new Tags(format == ImageFormat.JPEG ? "jpeg" : format.getFormatName(), sizeBucket(bytes));
+    }
+
+    /// 단계 하나를 실행하며 소요 시간을 기록하고, 예외는 클래스 이름별로 센 뒤 그대로 던진다
+    public <T> T time(Stage stage, Tags tags, StageCall<T> call) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } catch (RuntimeException | IOException e) {
+            errorCounter(stage, e).increment();
+            throw e;
+        } finally {
+            stageTimer(stage, tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void run(Stage stage, Tags tags, StageRun run) throws IOException {
+        time(stage, tags, () -> {
+            run.run();
+            return null;
+        });
+    }
+
+    public void recordView(String kind, boolean found, long startNanos) {
+        String result = found ? "found" : "missing";
+        timers.computeIfAbsent("view|" + kind + "|" + result, key -> Timer.builder("image.pipeline.view")
+                        .description("Image lookups by kind and result")
+                        .tag("kind", kind)
+                        .tag("result", result)
+                        .serviceLevelObjectives(SLO_BUCKETS)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordWritten(String kind, long bytes) {
+        counters.computeIfAbsent("written|" + kind, key -> Counter.builder("image.storage.written")
+                        .description("Bytes written to object storage")
+                        .baseUnit("bytes")
+                        .tag("kind", kind)
+                        .register(meterRegistry))
+                .increment(bytes);
+    }
+
+    public void enter(Operation operation) {
+        inFlight.get(operation).incrementAndGet();
+    }
+
+    public void exit(Operation operation) {
+        inFlight.get(operation).decrementAndGet();
+    }
+
+    /// helpers ///
+
+    private Timer stageTimer(Stage stage, Tags tags) {
+        return timers.computeIfAbsent("stage|" + stage.tag + "|" + tags.format() + "|" + tags.size(),
+                key -> Timer.builder("image.pipeline.stage")
+                        .description("Image pipeline stage duration")
+                        .tag("stage", stage.tag)
+                        .tag("format", tags.format())
+                        .tag("size", tags.size())
+                        .serviceLevelObjectives(SLO_BUCKETS)
+                        .register(meterRegistry));
+    }
+
+    private Counter errorCounter(Stage stage, Exception e) {
+        String exception = e.getClass().getSimpleName();
+        return counters.computeIfAbsent("error|" + stage.tag + "|" + exception, key -> Counter.builder("image.pipeline.errors")
+                .description("Exceptions raised by image pipeline stages")
+                .tag("stage", stage.tag)
+                .tag("exception", exception)
+                .register(meterRegistry));
+    }
+
+    private static String sizeBucket(long bytes) {
+        if (bytes < 0) {
+            return "unknown";
+        }
+        if (bytes < 64 * 1024) {
+            return "lt64k";
+        }
+        if (bytes < 512 * 1024) {
+            return "lt512k";
+        }
+        if (bytes < 2 * 1024 * 1024) {
+            return "lt2m";
+        }
+        return "ge2m";
+    }
+
+    @FunctionalInterface
+    public interface StageCall<T> {
+        T call() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface StageRun {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,217 @@
+package click.dailyfeed.image.domain.image.queue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/// 파생 이미지(썸네일) 생성 작업 큐. 업로드 응답 뒤 백그라운드에서 처리한다
+///
+/// - 작업 하나 = upload-root/.queue/derived/pending/<imageId> 파일 (내용: 시도 횟수)
+/// - 재시작하면 pending 디렉토리를 다시 읽어 남은 작업을 이어서 처리
+/// - 실패하면 지수 백오프로 재시도하고, max-attempts 를 넘으면 failed/ 로 옮긴다
+@Slf4j
+@Component
+public class DerivedImageQueue {
+
+    private static final String QUEUE_DIR = ".queue/derived";
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final Path pendingDir;
+    private final Path failedDir;
+    private final int workers;
+    private final int maxAttempts;
+    private final long retryBaseDelayMillis;
+
+    // 메모리 대기열과 중복 투입 방지용 집합 (같은 이미지 작업은 한 번에 하나만 대기/실행)
+    private final LinkedBlockingQueue<String> ready = new LinkedBlockingQueue<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final Counter successCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    private ExecutorService workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile JobHandler handler;
+
+    public DerivedImageQueue(
+            @Value("${images.upload-root}") String imageRoot,
+            @Value("${images.derived-queue.workers:2}") int workers,
+            @Value("${images.derived-queue.max-attempts:5}") int maxAttempts,
+            @Value("${images.derived-queue.retry-base-delay-millis:1000}") long retryBaseDelayMillis,
+            MeterRegistry meterRegistry
+    ) {
+        Path queueRoot = Paths.get(imageRoot).resolve(QUEUE_DIR);
+        this.pendingDir = queueRoot.resolve("pending");
+        this.failedDir = queueRoot.resolve("failed");
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelayMillis = retryBaseDelayMillis;
+
+        Gauge.builder("image.derived.queue.pending", queued, Set::size)
+                .description("Derived image jobs waiting or running")
+                .register(meterRegistry);
+        this.successCounter = jobCounter(meterRegistry, "success");
+        this.retryCounter = jobCounter(meterRegistry, "retry");
+        this.failedCounter = jobCounter(meterRegistry, "failed");
+    }
+
+    /// 작업 처리기를 등록하고 워커를 시작. 이전 실행에서 남은 작업도 다시 투입한다
+    public synchronized void start(JobHandler handler) throws IOException {
+        if (this.handler != null) {
+            throw new IllegalStateException("Derived image queue already started");
+        }
+        this.handler = handler;
+
+        Files.createDirectories(pendingDir);
+        Files.createDirectories(failedDir);
+
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("image-derived-retry-"));
+        workerPool = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("image-derived-"));
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::work);
+        }
+
+        int recovered = 0;
+        try (DirectoryStream<Path> jobs = Files.newDirectoryStream(pendingDir, Files::isRegularFile)) {
+            for (Path job : jobs) {
+                String imageId = job.getFileName().toString();
+                if (!imageId.startsWith(".") && offer(imageId)) {
+                    recovered++;
+                }
+            }
+        }
+        if (recovered > 0) {
+            log.info("Recovered {} pending derived image jobs", recovered);
+        }
+    }
+
+    /// 작업을 디스크에 기록한 뒤 대기열에 넣는다 (반환 시점에는 재시작해도 사라지지 않음)
+    public void enqueue(String imageId) throws IOException {
+        writeAttempts(imageId, 0);
+        offer(imageId);
+    }
+
+    /// 아직 처리되지 않은(대기/실행/재시도 대기 중인) 작업인지
+    public boolean isPending(String imageId) {
+        return queued.contains(imageId);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+            retryScheduler.shutdownNow();
+        }
+    }
+
+    /// helpers ///
+
+    private boolean offer(String imageId) {
+        if (!queued.add(imageId)) {
+            return false;
+        }
+        ready.add(imageId);
+        return true;
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            String imageId;
+            try {
+                imageId = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(imageId);
+        }
+    }
+
+    private void process(String imageId) {
+        Path job = pendingDir.resolve(imageId);
+        try {
+            handler.handle(imageId);
+            Files.deleteIfExists(job);
+            successCounter.increment();
+            queued.remove(imageId);
+        } catch (Exception e) {
+            retryOrFail(imageId, job, e);
+        }
+    }
+
+    private void retryOrFail(String imageId, Path job, Exception cause) {
+        try {
+            int attempts = readAttempts(job) + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Derived image job failed permanently - imageId: {}, attempts: {}", imageId, attempts, cause);
+                Files.move(job, failedDir.resolve(imageId), StandardCopyOption.REPLACE_EXISTING);
+                failedCounter.increment();
+                queued.remove(imageId);
+                return;
+            }
+
+            writeAttempts(imageId, attempts);
+            long delay = Math.min(retryBaseDelayMillis << (attempts - 1), MAX_RETRY_DELAY_MILLIS);
+            log.warn("Derived image job failed, retrying in {} ms - imageId: {}, attempts: {}", delay, imageId, attempts, cause);
+            retryCounter.increment();
+            retryScheduler.schedule(() -> ready.add(imageId), delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 작업 파일은 남아 있으므로 재시작 시 다시 처리된다
+            log.error("Failed to reschedule derived image job - imageId: {}", imageId, e);
+            queued.remove(imageId);
+        }
+    }
+
+    private int readAttempts(Path job) throws IOException {
+        if (!Files.isRegularFile(job)) {
+            return 0;
+        }
+        String content = Files.readString(job, StandardCharsets.UTF_8).trim();
+        return content.isEmpty() ? 0 : Integer.parseInt(content);
+    }
+
+    private void writeAttempts(String imageId, int attempts) throws IOException {
+        Files.createDirectories(pendingDir);
+        Path temp = Files.createTempFile(pendingDir, ".job-", ".tmp");
+        try {
+            Files.writeString(temp, String.valueOf(attempts), StandardCharsets.UTF_8);
+            Files.move(temp, pendingDir.resolve(imageId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Counter jobCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("image.derived.queue.jobs")
+                .description("Derived image jobs processed by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /// 작업 하나 처리 (예외를 던지면 재시도)
+    @FunctionalInterface
+    public interface JobHandler {
+        void handle(String imageId) throws Exception;
+    }
+}
@@ -0,0 +1,152 @@
+package click.dailyfeed.image.domain.image.service;
+
+import click.dailyfeed.image.domain.image.dto.ImageDeleteReport;
+import click.dailyfeed.image.domain.image.dto.ImageDeleteResult;
+import click.dailyfeed.image.domain.image.exception.ImageProcessingRejectedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/// 일괄 삭제 (/view/command/delete/in)
+///
+/// - URL 을 원본 이미지 ID 별로 묶어 삭제 전용 풀에서 병렬 처리 (같은 이미지의 URL 은 요청 순서대로 차례로)
+/// - 항목별 결과(삭제/참조 유지/잘못된 URL/실패)를 모아 보고서로 돌려준다
+/// - 비동기 모드는 작업 ID 를 바로 돌려주고, 진행 상황은 작업 ID 로 조회 (파드 메모리에 operation-ttl 동안 보관)
+/// - 삭제 풀 큐가 가득 차면 요청 스레드에서 처리하지 않는다. 한 묶음도 넣지 못했으면 503, 일부만 넣었으면 나머지 항목은 FAILED
+@Slf4j
+@Service
+public class ImageDeleteService {
+
+    private final ProfileImageStorageService imageService;
+    private final ExecutorService imageDeleteExecutor;
+    private final Cache<String, DeleteOperation> operations;
+    private final Map<ImageDeleteResult.Status, Counter> resultCounters = new EnumMap<>(ImageDeleteResult.Status.class);
+
+    public ImageDeleteService(
+            ProfileImageStorageService imageService,
+            ExecutorService imageDeleteExecutor,
+            @Value("${images.delete.operation-ttl-seconds:3600}") long operationTtlSeconds,
+            @Value("${images.delete.max-operations:10000}") long maxOperations,
+            MeterRegistry meterRegistry
+    ) {
+        this.imageService = imageService;
+        this.imageDeleteExecutor = imageDeleteExecutor;
+        this.operations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(operationTtlSeconds))
+                .maximumSize(maxOperations)
+                .build();
+
+        for (ImageDeleteResult.Status status : ImageDeleteResult.Status.values()) {
+            resultCounters.put(status, Counter.builder("image.delete.items")
+                    .description("Bulk delete items processed by result")
+                    .tag("result", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /// 모든 항목을 처리한 뒤 완료되는 보고서 (요청 스레드는 기다리지 않는다)
+    public CompletableFuture<ImageDeleteReport> deleteAll(List<String> imageUrls) {
+        DeleteOperation operation = new DeleteOperation(null, imageUrls);
+        return start(operation).thenApply(ignored -> operation.report());
+    }
+
+    /// 작업만 시작하고 진행 중 보고서(작업 ID 포함)를 바로 돌려준다
+    public ImageDeleteReport submit(List<String> imageUrls) {
+        DeleteOperation operation = new DeleteOperation(UUID.randomUUID().toString(), imageUrls);
+        CompletableFuture<Void> started = start(operation);
+        operations.put(operation.id, operation);
+        started.thenRun(() -> {
+            ImageDeleteReport report = operation.report();
+            log.info("Bulk delete finished - operationId: {}, total: {}, deleted: {}, failed: {}",
+                    report.operationId(), report.total(), report.deleted(), report.failed());
+        });
+        return operation.report();
+    }
+
+    /// 비동기 작업의 현재 보고서 (없거나 만료되었으면 null)
+    public ImageDeleteReport getReportOrNull(String operationId) {
+        DeleteOperation operation = operations.getIfPresent(operationId);
+        return operation != null ? operation.report() : null;
+    }
+
+    /// helpers ///
+
+    private CompletableFuture<Void> start(DeleteOperation operation) {
+        // 같은 원본의 URL(원본/썸네일/중복 참조)은 한 묶음 → 참조 카운트 해제 순서 유지
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < operation.imageUrls.size(); i++) {
+            String imageId = imageService.imageIdOfOrNull(operation.imageUrls.get(i));
+            groups.computeIfAbsent(imageId != null ? imageId : "#" + i, key -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (List<Integer> indices : groups.values()) {
+            try {
+                tasks.add(CompletableFuture.runAsync(() -> deleteGroup(operation, indices), imageDeleteExecutor));
+            } catch (RejectedExecutionException e) {
+                // 아무것도 시작하지 않았으면 요청 전체를 거절 (그대로 다시 보내도 참조가 두 번 해제되지 않는다)
+                if (tasks.isEmpty()) {
+                    throw new ImageProcessingRejectedException("Image delete queue is full, please retry later");
+                }
+                rejectGroup(operation, indices);
+            }
+        }
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+    }
+
+    private void deleteGroup(DeleteOperation operation, List<Integer> indices) {
+        for (int index : indices) {
+            ImageDeleteResult result = imageService.deleteImage(operation.imageUrls.get(index));
+            resultCounters.get(result.status()).increment();
+            operation.results.set(index, result);
+        }
+    }
+
+    private void rejectGroup(DeleteOperation operation, List<Integer> indices) {
+        for (int index : indices) {
+            ImageDeleteResult result = ImageDeleteResult.failed(operation.imageUrls.get(index), "Image delete queue is full");
+            resultCounters.get(result.status()).increment();
+            operation.results.set(index, result);
+        }
+    }
+
+    private static class DeleteOperation {
+        private final String id;
+        private final List<String> imageUrls;
+        private final AtomicReferenceArray<ImageDeleteResult> results;
+
+        private DeleteOperation(String id, List<String> imageUrls) {
+            this.id = id;
+            this.imageUrls = new ArrayList<>(imageUrls); // null 항목도 INVALID 결과로 남긴다
+            this.results = new AtomicReferenceArray<>(imageUrls.size());
+        }
+
+        private ImageDeleteReport report() {
+            List<ImageDeleteResult> finished = new ArrayList<>();
+            for (int i = 0; i < results.length(); i++) {
+                ImageDeleteResult result = results.get(i);
+                if (result != null) {
+                    finished.add(result);
+                }
+            }
+            return ImageDeleteReport.of(id, imageUrls.size(), finished);
+        }
+    }
+}
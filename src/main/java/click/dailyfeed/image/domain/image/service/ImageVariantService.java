@@ -0,0 +1,161 @@
+package click.dailyfeed.image.domain.image.service;
+
+import click.dailyfeed.code.domain.image.exception.ImageProcessingFailException;
+import click.dailyfeed.image.domain.file.service.FileService;
+import click.dailyfeed.image.domain.file.storage.ObjectStorage;
+import click.dailyfeed.image.domain.image.cache.DerivedImageCache;
+import click.dailyfeed.image.domain.image.cache.SingleFlight;
+import click.dailyfeed.image.domain.image.exception.ImageProcessingRejectedException;
+import click.dailyfeed.image.domain.image.type.ImageFit;
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import click.dailyfeed.image.domain.image.type.ImageVariant;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/// 요청 시점에 저장된 원본(master)으로부터 리사이즈/포맷 변형을 만들어 제공 (?w=&h=&fit=, Accept)
+/// 조회 순서: 메모리 캐시 → 디스크 파생 캐시 → 원본에서 생성 (동일 변형 동시 요청은 한 번만 생성)
+/// 디스크 파생 캐시는 언제든 다시 만들 수 있으므로 저장소 종류와 무관하게 파드 로컬 디렉토리에 둔다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    @Value("${images.quality:0.85}")
+    private double quality;
+
+    @Value("${images.variants.sizes:64,128,150,256,350}")
+    private List<Integer> allowedSizes;
+
+    private final FileService fileService;
+    private final DerivedImageCache derivedImageCache;
+    private final ExecutorService imageProcessingExecutor;
+    private final SingleFlight singleFlight;
+    private final ObjectStorage objectStorage;
+
+    /// 허용 크기 목록은 기동 시 한 번만 검증/정렬한다 (비어 있으면 요청 크기를 보정할 수 없으므로 기동 실패)
+    @PostConstruct
+    public void sortAllowedSizes() {
+        if (allowedSizes == null || allowedSizes.isEmpty()) {
+            throw new IllegalStateException("images.variants.sizes must not be empty");
+        }
+        allowedSizes = allowedSizes.stream().sorted().toList();
+    }
+
+    /// 요청 크기를 허용 목록으로 보정. 한쪽만 주어지면 다른 쪽도 같은 값으로 본다
+    public ImageVariant resolveVariant(Integer width, Integer height, String fit) {
+        int requestedWidth = width != null ? width : height;
+        int requestedHeight = height != null ? height : requestedWidth;
+        return new ImageVariant(clamp(requestedWidth), clamp(requestedHeight), ImageFit.fromOrDefault(fit));
+    }
+
+    public Resource getOrCreate(
+            String imageId, ImageVariant variant, ImageFormat format, String masterKey, Path variantPath
+    ) {
+        String key = DerivedImageCache.variantKey(imageId, variant, format);
+        return getOrCreate(key, masterKey, variantPath, master -> fileService.createVariantOrThrow(
+                master, variantPath.toFile(), format,
+                variant.width(), variant.height(), variant.fit() == ImageFit.COVER, quality
+        ));
+    }
+
+    /// 저장된 원본/썸네일을 크기 그대로 다른 포맷으로 변환해 제공 (Accept 협상 결과가 저장 포맷과 다를 때)
+    public Resource getOrTranscode(
+            String imageId, String name, ImageFormat format, String sourceKey, Path targetPath
+    ) {
+        String key = DerivedImageCache.derivedKey(imageId, name, format);
+        return getOrCreate(key, sourceKey, targetPath, source -> fileService.transcodeOrThrow(
+                source, targetPath.toFile(), format, quality
+        ));
+    }
+
+    /// CPU 작업인 리사이즈/인코딩은 이미지 처리 풀에서 수행 (큐 포화 시 503)
+    /// 요청 처리 중 즉석 생성(변형, 아직 만들어지지 않은 썸네일)에 사용한다
+    public byte[] generate(Supplier<byte[]> generator) {
+        CompletableFuture<byte[]> future;
+        try {
+            future = CompletableFuture.supplyAsync(generator, imageProcessingExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ImageProcessingRejectedException();
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            log.error("Failed to generate derived image", e.getCause());
+            throw new ImageProcessingFailException();
+        }
+    }
+
+    /// helpers ///
+
+    private Resource getOrCreate(String key, String sourceKey, Path targetPath, UnaryOperator<byte[]> generator) {
+        byte[] cached = derivedImageCache.get(key);
+        if (cached != null) {
+            return new ByteArrayResource(cached);
+        }
+
+        // 캐시 미스는 키 단위로 병합해 디스크 읽기/생성을 한 번만 수행
+        byte[] bytes = singleFlight.execute("variant", key, () -> loadOrGenerate(key, sourceKey, targetPath, generator));
+        return bytes != null ? new ByteArrayResource(bytes) : null;
+    }
+
+    private byte[] loadOrGenerate(String key, String sourceKey, Path targetPath, UnaryOperator<byte[]> generator) {
+        // 직전 leader 가 방금 캐시를 채웠을 수 있으므로 다시 확인
+        byte[] cached = derivedImageCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            // 디스크 파생 캐시 (이전에 생성된 변형)
+            if (Files.isReadable(targetPath)) {
+                byte[] bytes = Files.readAllBytes(targetPath);
+                derivedImageCache.put(key, bytes);
+                return bytes;
+            }
+
+            // 원본은 저장소(로컬/S3)에서 한 번 받아 생성에 사용
+            byte[] source = objectStorage.getOrNull(sourceKey);
+            if (source == null) {
+                log.debug("Source image not found for derived image: {}", sourceKey);
+                return null;
+            }
+
+            byte[] bytes = generate(() -> generator.apply(source));
+            derivedImageCache.put(key, bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /// 요청 크기 이상인 가장 작은 허용 크기 (요청이 더 크면 최대 허용 크기)
+    private int clamp(int size) {
+        for (int allowed : allowedSizes) {
+            if (allowed >= size) {
+                return allowed;
+            }
+        }
+        return allowedSizes.get(allowedSizes.size() - 1);
+    }
+}
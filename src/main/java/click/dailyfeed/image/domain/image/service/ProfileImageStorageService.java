@@ -1,30 +1,49 @@
 package click.dailyfeed.image.domain.image.service;
 
-import click.dailyfeed.code.domain.image.type.ImageExtensionType;
-import click.dailyfeed.code.domain.member.member.dto.MemberProfileDto;
+import click.dailyfeed.code.domain.image.exception.CorruptedImageException;
 import click.dailyfeed.image.domain.file.service.FileService;
+import click.dailyfeed.image.domain.file.service.ImageStorageLayout;
+import click.dailyfeed.image.domain.file.storage.ObjectStat;
+import click.dailyfeed.image.domain.file.storage.ObjectStorage;
+import click.dailyfeed.image.domain.file.storage.ObjectStorageResource;
+import click.dailyfeed.image.domain.image.dto.ImageContent;
+import click.dailyfeed.image.domain.image.dto.ImageDeleteResult;
+import click.dailyfeed.image.domain.image.exception.ImagePixelLimitExceededException;
+import click.dailyfeed.image.domain.image.index.ImageDigestIndex;
+import click.dailyfeed.image.domain.image.metrics.ImagePipelineMetrics;
+import click.dailyfeed.image.domain.image.queue.DerivedImageQueue;
+import click.dailyfeed.image.domain.image.store.ThumbnailStore;
+import click.dailyfeed.image.domain.image.type.ImageFit;
+import click.dailyfeed.image.domain.image.cache.DerivedImageCache;
+import click.dailyfeed.image.domain.image.cache.SingleFlight;
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import click.dailyfeed.image.domain.image.type.ImageVariant;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProfileImageStorageService {
-    @Value("${images.upload-root}")
-    private String imageRoot;
-
     @Value("${images.max-width:500}")
     private int maxWidth;
 
@@ -37,49 +56,189 @@ public class ProfileImageStorageService {
     @Value("${images.quality:0.85}")
     private double quality;
 
+    @Value("${images.webp.enabled:true}")
+    private boolean webpEnabled;
+
+    @Value("${images.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${images.derived-queue.enabled:true}")
+    private boolean derivedQueueEnabled;
+
     private final FileService fileService;
+    private final DerivedImageCache derivedImageCache;
+    private final ImageVariantService imageVariantService;
+    private final SingleFlight singleFlight;
+    private final ImageDigestIndex imageDigestIndex;
+    private final ImageStorageLayout imageStorageLayout;
+    private final ThumbnailStore thumbnailStore;
+    private final ObjectStorage objectStorage;
+    private final DerivedImageQueue derivedImageQueue;
+    private final ImagePipelineMetrics pipelineMetrics;
+
+    // ETag 헤더에 그대로 실을 수 있는 ID 형식 (UUID 등)
+    private static final Pattern VIEW_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final String THUMBNAIL_SUFFIX = "-thumbnail";
 
-    // 최대 이미지 크기 (픽셀)
-    private static final int MAX_PIXELS = 50_000_000; // 50MP
+    // 포맷 변환본 파일/캐시 키 이름 (variants/ab/cd/<id>/original.WEBP)
+    private static final String ORIGINAL_NAME = "original";
+
+    // 원본/썸네일 저장 포맷 (불투명 → JPEG, 투명 → PNG). 이전 버전의 저장본은 모두 PNG
+    private static final List<ImageFormat> STORED_FORMATS = List.of(ImageFormat.JPEG, ImageFormat.PNG);
+
+    // WebP 인코더(ImageIO 플러그인) 등록 여부는 런타임에 한 번만 확인
+    private static final boolean WEBP_ENCODABLE = ImageFormat.WEBP.isEncodable();
 
     public String store(MultipartFile file) throws IOException {
-        fileService.validateFile(file);
+        pipelineMetrics.enter(ImagePipelineMetrics.Operation.STORE);
+        try {
+            ImagePipelineMetrics.Tags tags = file != null
+                    ? pipelineMetrics.tagsOf(file.getContentType(), file.getSize())
+                    : ImagePipelineMetrics.UNKNOWN;
+            return storeOrThrow(file, tags);
+        } finally {
+            pipelineMetrics.exit(ImagePipelineMetrics.Operation.STORE);
+        }
+    }
+
+    /// 단계(검증 → 중복 확인 → 시그니처 → fast path | 디코딩 → 리사이즈 → 인코딩 → 기록)마다 소요 시간을 기록
+    private String storeOrThrow(MultipartFile file, ImagePipelineMetrics.Tags tags) throws IOException {
+        pipelineMetrics.run(ImagePipelineMetrics.Stage.VALIDATE, tags, () -> fileService.validateFile(file));
+
+        // 같은 내용이 이미 저장되어 있으면 재처리 없이 기존 이미지를 참조 (참조 카운트 증가)
+        String digest = null;
+        if (dedupEnabled) {
+            digest = pipelineMetrics.time(ImagePipelineMetrics.Stage.DIGEST, tags, () -> fileService.digestOrThrow(file));
+            String existingId = imageDigestIndex.acquireOrNull(digest, this::isStored);
+            if (existingId != null) {
+                log.debug("Duplicate upload resolved to existing image - imageId: {}", existingId);
+                return existingId;
+            }
+        }
 
         String imageId = UUID.randomUUID().toString();
-        Path imageDir = Paths.get(imageRoot);
 
-        // 디렉토리 생성
-        fileService.createDirectories(imageRoot);
+        // 시그니처 검증을 통과한 업로드 스트림을 디코더에 그대로 전달 (getBytes() 힙 복사 없음)
+        InputStream imageStream = pipelineMetrics.time(ImagePipelineMetrics.Stage.SIGNATURE, tags,
+                () -> fileService.openImageStreamOrThrow(file));
 
-        File originalFile = null;
-        File thumbnailFile = null;
+        String originalKey = null;
+        boolean thumbnailStored = false;
 
-        try {
-            // 임시 파일 생성
-            originalFile = fileService.resolveFileOrThrow(imageDir, imageId, ImageExtensionType.PNG);
-            thumbnailFile = fileService.resolveFileOrThrow(imageDir, imageId + "-thumbnail", ImageExtensionType.PNG);
+        try (imageStream) {
+            // 이미 규격 안에 드는 작은 JPEG/PNG 는 메타데이터만 제거하고 원래 바이트 그대로 저장
+            // 썸네일을 작업 큐로 미루면 업로드 중에는 디코딩하지 않으므로, 깨진 본문이 저장되지 않게 한 번 디코딩해 확인
+            FileService.FastPathImage fastPathImage = pipelineMetrics.time(ImagePipelineMetrics.Stage.FAST_PATH, tags,
+                    () -> fileService.tryFastPathOrNull(imageStream, file.getSize(), maxWidth, maxHeight, derivedQueueEnabled));
+            if (fastPathImage != null) {
+                ImageFormat masterFormat = fastPathImage.format();
+                originalKey = imageStorageLayout.shardedKey(imageId, masterFormat);
+                putOrThrow(originalKey, masterFormat, fastPathImage.bytes(), tags);
 
-            fileService.createThumbnailOriginalOrThrow(
-                    file, originalFile, ImageExtensionType.PNG,
-                    maxWidth, maxHeight, quality
-            );
+                thumbnailStored = deriveThumbnail(imageId, masterFormat, tags, () -> fileService.decodeOrThrow(fastPathImage.bytes()));
+                registerDigest(digest, imageId);
 
-            fileService.createThumbnailOrThrow(
-                    originalFile, thumbnailFile, ImageExtensionType.PNG,
-                    thumbnailSize, thumbnailSize, quality
-            );
+                return imageId;
+            }
 
-            return imageId;
+            // 한 번 디코딩한 래스터로 원본(과 동기 모드의 썸네일)을 생성 (원본 파일 재읽기 없음)
+            BufferedImage decoded = pipelineMetrics.time(ImagePipelineMetrics.Stage.DECODE, tags,
+                    () -> fileService.decodeSubsampledOrThrow(imageStream, maxWidth, maxHeight));
+            BufferedImage resized = null;
+            BufferedImage master = null;
+            try {
+                resized = pipelineMetrics.time(ImagePipelineMetrics.Stage.RESIZE, tags,
+                        () -> fileService.resizeOrThrow(decoded, maxWidth, maxHeight));
+
+                // 투명 영역이 없으면 JPEG(quality 적용), 있으면 PNG 로 저장
+                ImageFormat masterFormat = fileService.resolveMasterFormat(resized);
+                BufferedImage encodable = masterFormat == ImageFormat.JPEG ? fileService.toOpaqueOrSelf(resized) : resized;
+                master = encodable;
+                byte[] masterBytes = pipelineMetrics.time(ImagePipelineMetrics.Stage.ENCODE, tags,
+                        () -> fileService.encodeImageOrThrow(encodable, masterFormat, quality));
+
+                originalKey = imageStorageLayout.shardedKey(imageId, masterFormat);
+                putOrThrow(originalKey, masterFormat, masterBytes, tags);
+
+                thumbnailStored = deriveThumbnail(imageId, masterFormat, tags, () -> encodable);
+                registerDigest(digest, imageId);
+
+                return imageId;
+            } finally {
+                // 썸네일까지 동기로 만든 뒤에는 더 참조하지 않으므로 다음 업로드가 재사용하도록 반환
+                fileService.releaseScratch(decoded, resized, master);
+            }
         } catch (Exception e) {
-            // 실패 시 생성된 파일들 정리
-            fileService.cleanUpFileOrThrow(originalFile, thumbnailFile);
+            // 실패 시 저장된 원본/썸네일 정리
+            if (originalKey != null) {
+                deleteObjectQuietly(originalKey);
+            }
+            if (thumbnailStored) {
+                deleteThumbnailQuietly(imageId);
+            }
+            // 픽셀 한도 초과(413)와 깨진 본문은 클라이언트 입력 문제이므로 처리 실패로 감싸지 않고 그대로 전달
+            if (e instanceof ImagePixelLimitExceededException || e instanceof CorruptedImageException) {
+                throw (RuntimeException) e;
+            }
             log.error("Failed to store image: {}", e.getMessage(), e);
             throw new IOException("Failed to store image: " + e.getMessage(), e);
         }
 
     }
 
-    public Resource get(String imageId, Boolean isThumbnail) {
+    /// 썸네일 생성 작업 처리 (업로드 응답 뒤 작업 큐 워커에서 실행, 실패 시 큐가 재시도)
+    @PostConstruct
+    public void startDerivedImageQueue() throws IOException {
+        derivedImageQueue.start(this::generateThumbnailOrThrow);
+    }
+
+    /// Accept 헤더로 응답 포맷 협상. 저장 포맷보다 작은 WebP 를 받을 수 있으면 WEBP, 아니면 null (저장 포맷 그대로)
+    public ImageFormat negotiate(String accept) {
+        if (isNegotiable() && ImageFormat.WEBP.isAcceptedBy(accept)) {
+            return ImageFormat.WEBP;
+        }
+        return null;
+    }
+
+    /// 응답 포맷이 Accept 에 따라 달라질 수 있는지 (Vary: Accept 필요 여부)
+    public boolean isNegotiable() {
+        return webpEnabled && WEBP_ENCODABLE;
+    }
+
+    /// requestedFormat 이 null 이면 저장 포맷 그대로, 아니면 해당 포맷으로 변환된 본문
+    /// 변환 실패/처리 큐 포화는 예외로 그대로 전달한다
+    public ImageContent get(String imageId, Boolean isThumbnail, ImageFormat requestedFormat) {
+        String kind = Boolean.TRUE.equals(isThumbnail) ? "thumbnail" : requestedFormat != null ? "converted" : "original";
+        long start = System.nanoTime();
+        pipelineMetrics.enter(ImagePipelineMetrics.Operation.VIEW);
+        ImageContent content = null;
+        try {
+            content = findOrNull(imageId, isThumbnail, requestedFormat);
+            return content;
+        } finally {
+            pipelineMetrics.exit(ImagePipelineMetrics.Operation.VIEW);
+            pipelineMetrics.recordView(kind, content != null, start);
+        }
+    }
+
+    /// 저장된 원본으로부터 요청 규격의 변형 이미지를 조회/생성 (?w=&h=&fit=)
+    /// requestedFormat 이 null 이면 원본과 같은 포맷으로 생성한다
+    /// 생성 실패/처리 큐 포화는 예외로 그대로 전달한다
+    public ImageContent getVariant(String imageId, ImageVariant variant, ImageFormat requestedFormat) throws IOException {
+        long start = System.nanoTime();
+        pipelineMetrics.enter(ImagePipelineMetrics.Operation.VIEW);
+        ImageContent content = null;
+        try {
+            content = findVariantOrNull(imageId, variant, requestedFormat);
+            return content;
+        } finally {
+            pipelineMetrics.exit(ImagePipelineMetrics.Operation.VIEW);
+            pipelineMetrics.recordView("variant", content != null, start);
+        }
+    }
+
+    private ImageContent findOrNull(String imageId, Boolean isThumbnail, ImageFormat requestedFormat) {
         if (imageId == null || imageId.trim().isEmpty()) {
             log.warn("Invalid image ID provided");
             return null;
@@ -91,31 +250,48 @@ public class ProfileImageStorageService {
             return null;
         }
 
-        try {
-            String suffix = Boolean.TRUE.equals(isThumbnail) ? "-thumbnail" : "";
-            Path filePath = fileService.resolvePathOrThrow(imageRoot, imageId + suffix, ImageExtensionType.PNG);
-
-            // 파일이 imageRoot 디렉토리 내에 있는지 확인
-            Path normalizedPath = fileService.normalizePathOrThrow(filePath);
-            Path rootPath = fileService.normalizePathOrThrow(Paths.get(imageRoot));
+        if (Boolean.TRUE.equals(isThumbnail)) {
+            return getThumbnail(imageId, requestedFormat);
+        }
 
-            if (!normalizedPath.startsWith(rootPath)) { // 경로 순회 (Path Traversal 공격) 방지 (보안)
-                log.warn("Path traversal attempt detected: {}", imageId);
-                return null;
+        // 인메모리 캐시를 먼저 확인 (디스크 stat/open 없음)
+        if (requestedFormat != null) {
+            byte[] cached = derivedImageCache.get(DerivedImageCache.derivedKey(imageId, ORIGINAL_NAME, requestedFormat));
+            if (cached != null) {
+                return new ImageContent(new ByteArrayResource(cached), requestedFormat);
             }
+        }
 
-            Resource resource = new UrlResource(normalizedPath.toUri());
+        StoredImage stored;
+        try {
+            stored = findStoredOrNull(imageId);
+        } catch (IOException e) {
+            log.error("IO Exception ", e);
+            return null;
+        }
+        if (stored == null) {
+            log.debug("Image not found: {}", imageId);
+            return null;
+        }
 
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                log.debug("Image not found or not readable: {}", normalizedPath);
+        // 저장 포맷과 다른 포맷 요청 → 같은 크기로 변환한 파생 이미지 (디스크/메모리 캐시)
+        // 변형 이미지와 같이 생성 실패/처리 큐 포화는 예외로 그대로 전달한다 (없는 이미지로 바꾸지 않음)
+        if (requestedFormat != null && requestedFormat != stored.format()) {
+            Path targetPath = imageStorageLayout.variantDir(imageId).resolve(requestedFormat.withFileName(ORIGINAL_NAME));
+            Resource converted = imageVariantService.getOrTranscode(
+                    imageId, ORIGINAL_NAME, requestedFormat, stored.key(), targetPath
+            );
+            return converted != null ? new ImageContent(converted, requestedFormat) : null;
+        }
+
+        try {
+            Resource resource = toResourceOrNull(stored);
+            if (resource == null) {
+                log.debug("Image not found or not readable: {}", stored.key());
                 return null;
             }
+            return new ImageContent(resource, stored.format());
 
-        } catch (MalformedURLException e) {
-            log.error("Malformed URL for image ID: {}", imageId, e);
-            return null;
         } catch (IOException e) {
             log.error("IO Exception ", e);
             return null;
@@ -125,34 +301,320 @@ public class ProfileImageStorageService {
         }
     }
 
-    public void deleteImages(MemberProfileDto.ImageDeleteBulkRequest imageDeleteBulkRequest) {
-        if (imageDeleteBulkRequest == null || imageDeleteBulkRequest.getImageUrls() == null) {
-            return;
+    private ImageContent findVariantOrNull(String imageId, ImageVariant variant, ImageFormat requestedFormat) throws IOException {
+        if (imageId == null || imageId.trim().isEmpty()) {
+            log.warn("Invalid image ID provided");
+            return null;
         }
 
-        for (String imageUrl : imageDeleteBulkRequest.getImageUrls()) {
-            try {
-                String viewId = extractViewIdFromUrl(imageUrl);
-                if (viewId == null || viewId.trim().isEmpty()) {
-                    log.warn("Invalid viewId extracted from URL: {}", imageUrl);
-                    continue;
+        // 경로 순회 공격 방지
+        if (imageId.contains("..") || imageId.contains("/") || imageId.contains("\\")) {
+            log.warn("Invalid image ID format: {}", imageId);
+            return null;
+        }
+
+        // 인메모리 캐시를 먼저 확인 (원본 포맷을 모르면 저장 포맷 후보를 모두 확인, 디스크 접근 없음)
+        List<ImageFormat> candidates = requestedFormat != null ? List.of(requestedFormat) : STORED_FORMATS;
+        for (ImageFormat candidate : candidates) {
+            byte[] cached = derivedImageCache.get(DerivedImageCache.variantKey(imageId, variant, candidate));
+            if (cached != null) {
+                return new ImageContent(new ByteArrayResource(cached), candidate);
+            }
+        }
+
+        StoredImage master = findStoredOrNull(imageId);
+        if (master == null) {
+            log.debug("Master image not found for variant: {}", imageId);
+            return null;
+        }
+
+        ImageFormat outputFormat = requestedFormat != null ? requestedFormat : master.format();
+        Path variantPath = imageStorageLayout.variantDir(imageId).resolve(outputFormat.withFileName(variant.key()));
+        Resource resource = imageVariantService.getOrCreate(imageId, variant, outputFormat, master.key(), variantPath);
+        return resource != null ? new ImageContent(resource, outputFormat) : null;
+    }
+
+    /// 이미지 ID(+썸네일 여부, 응답 포맷)로 강한 ETag 생성
+    /// 이미지 ID 는 저장 시점의 내용에만 대응하고 이후 변경되지 않으므로 내용 식별자로 사용할 수 있다
+    /// 협상된 포맷은 표현이 다르므로 ETag 도 구분한다 (저장 포맷 그대로면 접미사 없음)
+    public String eTagOf(String imageId, Boolean isThumbnail, ImageFormat requestedFormat) {
+        return eTagOf(imageId, (Boolean.TRUE.equals(isThumbnail) ? THUMBNAIL_SUFFIX : "") + formatSuffix(requestedFormat));
+    }
+
+    public String eTagOf(String imageId, ImageVariant variant, ImageFormat requestedFormat) {
+        return eTagOf(imageId, "-" + variant.key() + formatSuffix(requestedFormat));
+    }
+
+    /// 삭제 URL 하나 처리 (예외를 던지지 않고 결과로 돌려준다)
+    /// 같은 이미지의 URL(<id>, <id>-thumbnail)은 참조 카운트 순서가 바뀌지 않도록 호출 측에서 차례로 처리해야 한다
+    public ImageDeleteResult deleteImage(String imageUrl) {
+        String viewId = extractViewIdFromUrl(imageUrl);
+        if (viewId == null || viewId.trim().isEmpty()) {
+            log.warn("Invalid viewId extracted from URL: {}", imageUrl);
+            return ImageDeleteResult.of(imageUrl, ImageDeleteResult.Status.INVALID);
+        }
+
+        if (viewId.contains("..") || viewId.contains("/") || viewId.contains("\\")) {
+            log.warn("Invalid viewId format: {}", viewId);
+            return ImageDeleteResult.of(imageUrl, ImageDeleteResult.Status.INVALID);
+        }
+
+        try {
+            // 같은 내용을 업로드한 다른 참조가 남아 있으면 파일은 유지
+            if (!releaseReference(viewId)) {
+                log.info("Image still referenced, keeping files for viewId: {}", viewId);
+                return ImageDeleteResult.of(imageUrl, ImageDeleteResult.Status.RETAINED);
+            }
+
+            // 샤딩 배치와 마이그레이션 전 평면 배치를 모두 정리 (원격 저장소는 요청 하나로 묶어 삭제)
+            List<String> keys = new ArrayList<>();
+            for (ImageFormat storedFormat : STORED_FORMATS) {
+                keys.add(imageStorageLayout.shardedKey(viewId, storedFormat));
+                if (objectStorage.mayContainFlatKeys()) {
+                    keys.add(imageStorageLayout.flatKey(viewId, storedFormat));
                 }
+            }
+            objectStorage.deleteAll(keys);
+            // 썸네일 저장소/변형/캐시는 원본 ID 기준 (썸네일 URL 의 viewId 는 <id>-thumbnail)
+            String imageId = imageIdOfOrNull(imageUrl);
+            thumbnailStore.delete(imageId);
+            fileService.cleanUpDirectoryOrThrow(imageStorageLayout.variantDir(imageId));
+            fileService.cleanUpDirectoryOrThrow(imageStorageLayout.legacyVariantDir(imageId));
+            derivedImageCache.invalidateImage(imageId);
+
+            log.info("Deleted images for viewId: {}", viewId);
+            return ImageDeleteResult.of(imageUrl, ImageDeleteResult.Status.DELETED);
+        } catch (Exception e) {
+            log.error("Failed to delete image from URL: {}", imageUrl, e);
+            return ImageDeleteResult.failed(imageUrl, e.getMessage());
+        }
+    }
+
+    /// 삭제 URL 이 가리키는 원본 이미지 ID (썸네일 URL 도 원본 ID). 추출할 수 없으면 null
+    public String imageIdOfOrNull(String imageUrl) {
+        String viewId = extractViewIdFromUrl(imageUrl);
+        if (viewId == null || viewId.trim().isEmpty()) {
+            return null;
+        }
+        return viewId.endsWith(THUMBNAIL_SUFFIX)
+                ? viewId.substring(0, viewId.length() - THUMBNAIL_SUFFIX.length())
+                : viewId;
+    }
+
+    /// 썸네일: 메모리 캐시 → 썸네일 저장소 → (작업 큐 처리 전이면) 원본에서 즉석 생성. 다른 포맷 요청은 원본에서 같은 규격(정사각 COVER)으로 생성
+    private ImageContent getThumbnail(String imageId, ImageFormat requestedFormat) {
+        if (requestedFormat != null) {
+            try {
+                return findVariantOrNull(imageId, new ImageVariant(thumbnailSize, thumbnailSize, ImageFit.COVER), requestedFormat);
+            } catch (IOException e) {
+                log.error("Failed to create thumbnail - imageId: {}, format: {}", imageId, requestedFormat, e);
+                return null;
+            }
+        }
+
+        byte[] cached = derivedImageCache.get(DerivedImageCache.thumbnailKey(imageId));
+        if (cached == null) {
+            // 캐시 미스: 동시 미스는 병합해 저장소에서 한 번만 읽어 캐시를 채운다
+            cached = singleFlight.execute("thumbnail", imageId, () -> loadThumbnail(imageId));
+        }
+        return cached != null ? new ImageContent(new ByteArrayResource(cached), ImageFormat.detect(cached)) : null;
+    }
+
+    private byte[] loadThumbnail(String imageId) {
+        String key = DerivedImageCache.thumbnailKey(imageId);
+        // 직전 leader 가 방금 캐시를 채웠을 수 있으므로 다시 확인
+        byte[] cached = derivedImageCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
 
-                if (viewId.contains("..") || viewId.contains("/") || viewId.contains("\\")) {
-                    log.warn("Invalid viewId format: {}", viewId);
-                    continue;
+        try {
+            byte[] bytes = thumbnailStore.getOrNull(imageId);
+            if (bytes != null) {
+                derivedImageCache.put(key, bytes);
+                return bytes;
+            }
+
+            // 작업 큐가 아직 만들지 않았으면(또는 유실) 원본에서 즉석 생성
+            log.debug("Thumbnail not ready, generating on the fly - imageId: {}, pending: {}",
+                    imageId, derivedImageQueue.isPending(imageId));
+            return imageVariantService.generate(() -> {
+                try {
+                    return createThumbnailOrNull(imageId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /// 작업 큐를 쓰면 작업만 기록하고 false, 아니면 썸네일을 바로 저장하고 true
+    private boolean deriveThumbnail(
+            String imageId, ImageFormat masterFormat, ImagePipelineMetrics.Tags tags, Supplier<BufferedImage> source
+    ) throws IOException {
+        if (derivedQueueEnabled) {
+            derivedImageQueue.enqueue(imageId);
+            return false;
+        }
+        storeThumbnail(imageId, source.get(), masterFormat, tags);
+        return true;
+    }
 
-                Path originalPath = fileService.resolvePathOrThrow(imageRoot, viewId, ImageExtensionType.PNG);
-                Path thumbnailPath = fileService.resolvePathOrThrow(imageRoot, viewId + "-thumbnail", ImageExtensionType.PNG);
+    private void generateThumbnailOrThrow(String imageId) throws IOException {
+        // 요청 시 즉석 생성으로 이미 만들어졌으면 할 일 없음
+        if (thumbnailStore.getOrNull(imageId) != null) {
+            return;
+        }
+        if (createThumbnailOrNull(imageId) == null) {
+            log.debug("Master image gone before thumbnail generation, dropping job - imageId: {}", imageId);
+        }
+    }
+
+    /// 저장된 원본을 읽어 썸네일을 만들고 저장 (원본이 없으면 null)
+    private byte[] createThumbnailOrNull(String imageId) throws IOException {
+        StoredImage master = findStoredOrNull(imageId);
+        byte[] masterBytes = master != null ? objectStorage.getOrNull(master.key()) : null;
+        if (masterBytes == null) {
+            return null;
+        }
 
-                fileService.cleanUpFileOrThrow(originalPath.toFile(), thumbnailPath.toFile());
+        ImagePipelineMetrics.Tags tags = pipelineMetrics.tagsOf(master.format(), masterBytes.length);
+        BufferedImage source = pipelineMetrics.time(ImagePipelineMetrics.Stage.DECODE, tags,
+                () -> fileService.decodeOrThrow(masterBytes));
+        byte[] thumbnailBytes;
+        try {
+            thumbnailBytes = storeThumbnail(imageId, source, master.format(), tags);
+        } finally {
+            fileService.releaseScratch(source);
+        }
+
+        // 생성 도중 삭제되었으면 방금 저장한 썸네일도 정리
+        if (!isStored(imageId)) {
+            deleteThumbnailQuietly(imageId);
+            derivedImageCache.invalidateImage(imageId);
+            return null;
+        }
+        return thumbnailBytes;
+    }
+
+    private byte[] storeThumbnail(
+            String imageId, BufferedImage source, ImageFormat masterFormat, ImagePipelineMetrics.Tags tags
+    ) throws IOException {
+        byte[] thumbnailBytes = pipelineMetrics.time(ImagePipelineMetrics.Stage.THUMBNAIL, tags,
+                () -> fileService.encodeThumbnailOrThrow(source, masterFormat, thumbnailSize, thumbnailSize, quality));
+        pipelineMetrics.run(ImagePipelineMetrics.Stage.WRITE, tags, () -> thumbnailStore.put(imageId, thumbnailBytes));
+        pipelineMetrics.recordWritten("thumbnail", thumbnailBytes.length);
+        derivedImageCache.put(DerivedImageCache.thumbnailKey(imageId), thumbnailBytes);
+        return thumbnailBytes;
+    }
+
+    private void putOrThrow(String key, ImageFormat format, byte[] bytes, ImagePipelineMetrics.Tags tags) throws IOException {
+        pipelineMetrics.run(ImagePipelineMetrics.Stage.WRITE, tags,
+                () -> objectStorage.put(key, new ByteArrayInputStream(bytes), bytes.length, format.getMediaType().toString()));
+        pipelineMetrics.recordWritten("original", bytes.length);
+    }
 
-                log.info("Deleted images for viewId: {}", viewId);
-            } catch (Exception e) {
-                log.error("Failed to delete image from URL: {}", imageUrl, e);
+    private void deleteObjectQuietly(String key) {
+        try {
+            objectStorage.delete(key);
+        } catch (Exception e) {
+            log.warn("Failed to delete stored image: {}", key, e);
+        }
+    }
+
+    private void deleteThumbnailQuietly(String imageId) {
+        try {
+            thumbnailStore.delete(imageId);
+        } catch (Exception e) {
+            log.warn("Failed to delete thumbnail: {}", imageId, e);
+        }
+    }
+
+    private boolean isStored(String imageId) {
+        try {
+            return findStoredOrNull(imageId) != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void registerDigest(String digest, String imageId) {
+        if (digest != null) {
+            imageDigestIndex.register(digest, imageId);
+        }
+    }
+
+    /// 참조 해제 후 파일을 지워도 되면 true
+    /// 썸네일 URL(<id>-thumbnail)은 원본의 참조가 남아 있는 동안 지우지 않는다
+    private boolean releaseReference(String viewId) {
+        if (!dedupEnabled) {
+            return true;
+        }
+        if (viewId.endsWith(THUMBNAIL_SUFFIX)) {
+            return !imageDigestIndex.isReferenced(viewId.substring(0, viewId.length() - THUMBNAIL_SUFFIX.length()));
+        }
+        return imageDigestIndex.release(viewId);
+    }
+
+    /// 저장된 원본의 키/포맷 (JPEG 우선, 이전 버전 저장본은 PNG. 샤딩 배치 → 평면 배치 순). 없으면 null
+    /// 찾은 위치는 캐시해 다음 조회는 확인 한 번으로 끝낸다. 평면 배치는 로컬 저장소에만 있다
+    private StoredImage findStoredOrNull(String fileName) throws IOException {
+        DerivedImageCache.StoredLocation cached = derivedImageCache.getStoredLocation(fileName);
+        if (cached != null) {
+            ObjectStat stat = objectStorage.statOrNull(cached.key());
+            if (stat != null) {
+                return new StoredImage(cached.key(), cached.format(), stat);
+            }
+            // 다른 파드에서 삭제되었거나 평면 배치에서 옮겨진 원본
+            derivedImageCache.invalidateStoredLocation(fileName);
+        }
+
+        boolean flatKeys = objectStorage.mayContainFlatKeys();
+        for (ImageFormat storedFormat : STORED_FORMATS) {
+            List<String> keys = flatKeys
+                    ? List.of(imageStorageLayout.shardedKey(fileName, storedFormat), imageStorageLayout.flatKey(fileName, storedFormat))
+                    : List.of(imageStorageLayout.shardedKey(fileName, storedFormat));
+            for (String key : keys) {
+                ObjectStat stat = objectStorage.statOrNull(key);
+                if (stat != null) {
+                    derivedImageCache.putStoredLocation(fileName, new DerivedImageCache.StoredLocation(key, storedFormat));
+                    return new StoredImage(key, storedFormat, stat);
+                }
             }
         }
+        return null;
+    }
+
+    /// 로컬 파일이면 NIO 파일 리소스 (sendfile/FileChannel 전송에 경로를 그대로 사용), 원격이면 구간 조회 가능한 저장소 리소스
+    private Resource toResourceOrNull(StoredImage stored) throws IOException {
+        Path localPath = objectStorage.localPathOrNull(stored.key());
+        if (localPath == null) {
+            return new ObjectStorageResource(objectStorage, stored.key(), stored.stat());
+        }
+
+        Path normalizedPath = fileService.normalizePathOrThrow(localPath);
+        Path rootPath = fileService.normalizePathOrThrow(imageStorageLayout.getRoot());
+
+        if (!normalizedPath.startsWith(rootPath)) { // 경로 순회 (Path Traversal 공격) 방지 (보안)
+            log.warn("Path traversal attempt detected: {}", stored.key());
+            return null;
+        }
+
+        Resource resource = new FileSystemResource(normalizedPath);
+        return resource.exists() && resource.isReadable() ? resource : null;
+    }
+
+    private String formatSuffix(ImageFormat requestedFormat) {
+        return requestedFormat != null ? "." + requestedFormat.getFormatName() : "";
+    }
+
+    private String eTagOf(String imageId, String suffix) {
+        if (imageId == null || imageId.trim().isEmpty() || !VIEW_ID_PATTERN.matcher(imageId).matches()) {
+            return null;
+        }
+        return "\"" + imageId + suffix + "\"";
     }
 
     private String extractViewIdFromUrl(String imageUrl) {
@@ -179,4 +641,7 @@ public class ProfileImageStorageService {
 
         return lastPart;
     }
+
+    private record StoredImage(String key, ImageFormat format, ObjectStat stat) {
+    }
 }
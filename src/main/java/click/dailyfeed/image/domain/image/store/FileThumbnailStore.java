@@ -0,0 +1,59 @@
+package click.dailyfeed.image.domain.image.store;
+
+import click.dailyfeed.image.domain.file.service.ImageStorageLayout;
+import click.dailyfeed.image.domain.file.storage.ObjectStorage;
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/// 썸네일 하나당 객체 하나 (ab/cd/<id>-thumbnail.JPG, 로컬 저장소는 이전 평면 배치 폴백)
+/// 로컬 저장소면 파일, S3 저장소면 버킷 객체
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "images.thumbnail-store.type", havingValue = "file", matchIfMissing = true)
+public class FileThumbnailStore implements ThumbnailStore {
+
+    private static final String THUMBNAIL_SUFFIX = "-thumbnail";
+    private static final List<ImageFormat> STORED_FORMATS = List.of(ImageFormat.JPEG, ImageFormat.PNG);
+
+    private final ObjectStorage objectStorage;
+    private final ImageStorageLayout imageStorageLayout;
+
+    @Override
+    public void put(String imageId, byte[] bytes) throws IOException {
+        ImageFormat format = ImageFormat.detect(bytes);
+        objectStorage.put(
+                imageStorageLayout.shardedKey(imageId + THUMBNAIL_SUFFIX, format),
+                new ByteArrayInputStream(bytes), bytes.length, format.getMediaType().toString()
+        );
+    }
+
+    @Override
+    public byte[] getOrNull(String imageId) throws IOException {
+        for (ImageFormat storedFormat : STORED_FORMATS) {
+            byte[] bytes = objectStorage.getOrNull(imageStorageLayout.shardedKey(imageId + THUMBNAIL_SUFFIX, storedFormat));
+            if (bytes == null && objectStorage.mayContainFlatKeys()) {
+                bytes = objectStorage.getOrNull(imageStorageLayout.flatKey(imageId + THUMBNAIL_SUFFIX, storedFormat));
+            }
+            if (bytes != null) {
+                return bytes;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void delete(String imageId) throws IOException {
+        for (ImageFormat storedFormat : STORED_FORMATS) {
+            objectStorage.delete(imageStorageLayout.shardedKey(imageId + THUMBNAIL_SUFFIX, storedFormat));
+            if (objectStorage.mayContainFlatKeys()) {
+                objectStorage.delete(imageStorageLayout.flatKey(imageId + THUMBNAIL_SUFFIX, storedFormat));
+            }
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package click.dailyfeed.image.domain.image.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/// 작은 blob 을 큰 세그먼트 파일에 이어 붙여 저장하는 append-only 저장소
+///
+/// 레코드: magic(4) | type(1) | keyLength(2) | dataLength(4) | key | data | crc32(4)
+/// - PUT: data = blob 본문
+/// - DELETE(tombstone): data = 삭제된 레코드가 있던 세그먼트 번호(4) — 그 세그먼트가 남아 있는 동안만 유지
+///
+/// 색인(key → 세그먼트/오프셋/길이)은 메모리에 두고, 시작 시 세그먼트를 순서대로 읽어 재구성한다.
+/// 레코드는 재구성/조회/compaction 모두 CRC 를 확인한다. 잘라내는 것은 쓰기 중이던 마지막 세그먼트의 꼬리뿐이고,
+/// 봉인된 세그먼트의 손상은 CorruptedBlobException 으로 알린다 (뒤쪽 레코드를 조용히 버리지 않음).
+/// 봉인된 세그먼트는 메모리 맵으로 읽고, 쓰기 중인 세그먼트는 위치 지정 읽기(pread)로 읽는다 (매 append 마다 재매핑 방지).
+/// 삭제/덮어쓰기로 죽은 바이트 비율이 높은 봉인 세그먼트는 compact 로 살아 있는 레코드만 옮기고 파일을 지운다.
+@Slf4j
+public class SegmentBlobStore implements Closeable {
+
+    private static final int MAGIC = 0x44464231; // "DFB1"
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_DELETE = 2;
+    private static final int HEADER_SIZE = 4 + 1 + 2 + 4;
+    private static final int CRC_SIZE = 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private final boolean fsync;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active; // this 로 보호
+
+    public SegmentBlobStore(Path directory, long segmentMaxBytes, boolean fsync) throws IOException {
+        if (segmentMaxBytes <= 0 || segmentMaxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 1 and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /// CRC 가 맞지 않으면 CorruptedBlobException (손상된 본문을 그대로 돌려주지 않는다)
+    public byte[] get(String key) throws IOException {
+        // 읽는 도중 compaction 으로 세그먼트가 닫히면 옮겨진 위치로 한 번 더 읽는다
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            Segment segment = segments.get(location.segmentId());
+            if (segment == null) {
+                continue;
+            }
+            try {
+                return segment.readVerified(location);
+            } catch (ClosedChannelException e) {
+                log.debug("Segment closed during read, retrying - key: {}", key);
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public synchronized void put(String key, byte[] data) throws IOException {
+        Location previous = index.put(key, append(TYPE_PUT, key, data));
+        if (previous != null) {
+            markDead(previous);
+        }
+    }
+
+    public synchronized boolean delete(String key) throws IOException {
+        Location previous = index.remove(key);
+        if (previous == null) {
+            return false;
+        }
+        Location tombstone = append(TYPE_DELETE, key, intBytes(previous.segmentId()));
+        markDead(previous);
+        markDead(tombstone);
+        return true;
+    }
+
+    /// 죽은 바이트 비율이 minDeadRatio 이상인 봉인 세그먼트를 정리하고 회수한 바이트 수를 반환
+    public long compact(double minDeadRatio) throws IOException {
+        long reclaimed = 0;
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            if (segment == currentActive() || segment.deadRatio() < minDeadRatio) {
+                continue;
+            }
+            reclaimed += compactSegment(segment);
+        }
+        return reclaimed;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long totalBytes() {
+        return segments.values().stream().mapToLong(Segment::size).sum();
+    }
+
+    public long deadBytes() {
+        return segments.values().stream().mapToLong(segment -> segment.deadBytes.get()).sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        index.clear();
+    }
+
+    /// helpers ///
+
+    private synchronized Segment currentActive() {
+        return active;
+    }
+
+    private Location append(byte type, String key, byte[] data) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Key too long: " + key);
+        }
+        int recordLength = HEADER_SIZE + keyBytes.length + data.length + CRC_SIZE;
+
+        if (active.size() > 0 && active.size() + recordLength > segmentMaxBytes) {
+            roll();
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+        record.putInt(MAGIC).put(type).putShort((short) keyBytes.length).putInt(data.length).put(keyBytes).put(data);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, recordLength - 4 - CRC_SIZE);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        long offset = active.append(record, fsync);
+        return new Location(active.id, offset + HEADER_SIZE + keyBytes.length, data.length, recordLength);
+    }
+
+    /// 쓰기 중인 세그먼트를 봉인(메모리 맵)하고 새 세그먼트를 연다
+    private void roll() throws IOException {
+        active.seal();
+        active = openSegment(active.id + 1);
+    }
+
+    private Segment openSegment(int id) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void markDead(Location location) {
+        Segment segment = segments.get(location.segmentId());
+        if (segment != null) {
+            segment.deadBytes.addAndGet(location.recordLength());
+        }
+    }
+
+    /// 살아 있는 PUT 과 아직 필요한 tombstone 만 쓰기 중인 세그먼트로 옮긴 뒤 세그먼트 파일을 지운다
+    private long compactSegment(Segment segment) throws IOException {
+        long size = segment.size();
+        long position = 0;
+        while (position < size) {
+            Record record = segment.readRecord(position, true);
+            if (record == null) {
+                // 봉인된 세그먼트의 손상: 뒤쪽 레코드를 버리지 않도록 세그먼트를 지우지 않고 중단
+                throw new CorruptedBlobException(segment.id, position);
+            }
+            synchronized (this) {
+                if (record.type() == TYPE_PUT) {
+                    Location location = index.get(record.key());
+                    if (location != null && location.segmentId() == segment.id && location.dataOffset() == record.dataOffset()) {
+                        byte[] data = segment.read(record.dataOffset(), record.dataLength());
+                        index.put(record.key(), append(TYPE_PUT, record.key(), data));
+                    }
+                } else {
+                    // 같은 key 가 다시 저장되어 있으면 옮기지 않는다 (재생 순서상 새 PUT 뒤에 오면 지워 버리므로)
+                    int deletedSegmentId = ByteBuffer.wrap(segment.read(record.dataOffset(), 4)).getInt();
+                    if (deletedSegmentId != segment.id && segments.containsKey(deletedSegmentId)
+                            && !index.containsKey(record.key())) {
+                        markDead(append(TYPE_DELETE, record.key(), intBytes(deletedSegmentId)));
+                    }
+                }
+            }
+            position += record.recordLength();
+        }
+
+        synchronized (this) {
+            segments.remove(segment.id);
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        }
+        log.info("Compacted blob segment - id: {}, reclaimed: {} bytes", segment.id, size);
+        return size;
+    }
+
+    /// 시작 시 세그먼트를 번호 순서로 읽어 색인 재구성 (모든 레코드의 CRC 확인)
+    /// 마지막 세그먼트의 잘린 꼬리(쓰기 중 중단)만 잘라내고, 봉인된 세그먼트(roll 할 때 fsync)가 손상되었으면 시작하지 않는다
+    private void recover() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                ids.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        ids.sort(Integer::compareTo);
+
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                boolean last = i == ids.size() - 1;
+                Segment segment = openSegment(ids.get(i));
+                long validEnd = replay(segment);
+                if (validEnd < segment.size()) {
+                    if (!last) {
+                        throw new CorruptedBlobException(segment.id, validEnd);
+                    }
+                    log.warn("Truncating blob segment tail - id: {}, from: {}, to: {}", segment.id, segment.size(), validEnd);
+                    segment.truncate(validEnd);
+                }
+                if (!last) {
+                    segment.seal();
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+
+        active = segments.isEmpty() ? openSegment(1) : segments.lastEntry().getValue();
+        log.info("Blob store recovered - directory: {}, segments: {}, keys: {}", directory, segments.size(), index.size());
+    }
+
+    private long replay(Segment segment) throws IOException {
+        long size = segment.size();
+        long position = 0;
+        while (position < size) {
+            Record record = segment.readRecord(position, true);
+            if (record == null) {
+                return position;
+            }
+            Location location = new Location(segment.id, record.dataOffset(), record.dataLength(), record.recordLength());
+            if (record.type() == TYPE_PUT) {
+                Location previous = index.put(record.key(), location);
+                if (previous != null) {
+                    markDead(previous);
+                }
+            } else {
+                Location previous = index.remove(record.key());
+                if (previous != null) {
+                    markDead(previous);
+                }
+                markDead(location);
+            }
+            position += record.recordLength();
+        }
+        return position;
+    }
+
+    private static byte[] intBytes(int value) {
+        return ByteBuffer.allocate(4).putInt(value).array();
+    }
+
+    private record Location(int segmentId, long dataOffset, int dataLength, int recordLength) {
+    }
+
+    private record Record(byte type, String key, long dataOffset, int dataLength, int recordLength) {
+    }
+
+    /// 봉인된 세그먼트의 레코드가 손상됨 (CRC 불일치, 헤더 손상)
+    public static final class CorruptedBlobException extends IOException {
+        private CorruptedBlobException(int segmentId, long position) {
+            super(String.format("Corrupted record in blob segment %d at position %d", segmentId, position));
+        }
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong size;
+        private final AtomicLong deadBytes = new AtomicLong();
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = new AtomicLong(channel.size());
+        }
+
+        private long size() {
+            return size.get();
+        }
+
+        private double deadRatio() {
+            long total = size();
+            return total == 0 ? 0 : (double) deadBytes.get() / total;
+        }
+
+        private long append(ByteBuffer record, boolean fsync) throws IOException {
+            long offset = size.get();
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            size.set(position);
+            return offset;
+        }
+
+        private void seal() throws IOException {
+            channel.force(false);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size());
+        }
+
+        private void truncate(long length) throws IOException {
+            channel.truncate(length);
+            size.set(length);
+        }
+
+        private byte[] read(long offset, int length) throws IOException {
+            byte[] data = new byte[length];
+            MappedByteBuffer buffer = mapped;
+            if (buffer != null) {
+                buffer.get((int) offset, data);
+                return data;
+            }
+            ByteBuffer target = ByteBuffer.wrap(data);
+            long position = offset;
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of segment " + id);
+                }
+                position += read;
+            }
+            return data;
+        }
+
+        /// 레코드 전체를 한 번에 읽어 CRC 를 확인한 뒤 본문만 돌려준다
+        private byte[] readVerified(Location location) throws IOException {
+            long recordOffset = location.dataOffset() + location.dataLength() + CRC_SIZE - location.recordLength();
+            byte[] record = read(recordOffset, location.recordLength());
+            CRC32 crc = new CRC32();
+            crc.update(record, 4, record.length - 4 - CRC_SIZE);
+            if ((int) crc.getValue() != ByteBuffer.wrap(record, record.length - CRC_SIZE, CRC_SIZE).getInt()) {
+                throw new CorruptedBlobException(id, recordOffset);
+            }
+            int dataStart = (int) (location.dataOffset() - recordOffset);
+            return Arrays.copyOfRange(record, dataStart, dataStart + location.dataLength());
+        }
+
+        /// position 의 레코드 헤더를 읽는다. 손상/잘린 레코드면 null
+        private Record readRecord(long position, boolean verifyCrc) throws IOException {
+            if (position + HEADER_SIZE + CRC_SIZE > size()) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.wrap(read(position, HEADER_SIZE));
+            int magic = header.getInt();
+            byte type = header.get();
+            int keyLength = header.getShort();
+            int dataLength = header.getInt();
+            if (magic != MAGIC || (type != TYPE_PUT && type != TYPE_DELETE) || keyLength <= 0 || dataLength < 0) {
+                return null;
+            }
+
+            long recordLength = (long) HEADER_SIZE + keyLength + dataLength + CRC_SIZE;
+            if (position + recordLength > size()) {
+                return null;
+            }
+
+            String key = new String(read(position + HEADER_SIZE, keyLength), StandardCharsets.UTF_8);
+            if (verifyCrc) {
+                byte[] body = read(position + 4, (int) recordLength - 4 - CRC_SIZE);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                int expected = ByteBuffer.wrap(read(position + recordLength - CRC_SIZE, CRC_SIZE)).getInt();
+                if ((int) crc.getValue() != expected) {
+                    return null;
+                }
+            }
+            return new Record(type, key, position + HEADER_SIZE + keyLength, dataLength, (int) recordLength);
+        }
+
+        private void close() throws IOException {
+            mapped = null;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package click.dailyfeed.image.domain.image.store;
+
+import click.dailyfeed.image.domain.file.service.ImageStorageLayout;
+import click.dailyfeed.image.domain.file.storage.LocalObjectStorage;
+import click.dailyfeed.image.domain.file.storage.ObjectStorage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/// 썸네일을 세그먼트 파일에 모아 저장 (파일/아이노드 수 절감, 조회 시 open/stat/close 없음)
+/// 세그먼트에 없는 썸네일은 파일 배치(이전 저장본)에서 읽는다
+/// 세그먼트는 로컬 디스크에만 두므로 images.storage.type=local 과 함께 사용한다 (다른 저장소와 함께 설정하면 시작하지 않음)
+/// 세그먼트의 손상된 썸네일(CRC 불일치)은 없는 것으로 보고, 원본에서 다시 만들어 덮어쓰게 한다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "images.thumbnail-store.type", havingValue = "segment")
+public class SegmentThumbnailStore implements ThumbnailStore {
+
+    private static final String SEGMENT_DIR = ".segments/thumbnails";
+
+    private final SegmentBlobStore blobStore;
+    private final FileThumbnailStore legacyStore;
+    private final double compactionMinDeadRatio;
+    private final ScheduledExecutorService compactionScheduler;
+
+    public SegmentThumbnailStore(
+            ImageStorageLayout imageStorageLayout,
+            ObjectStorage objectStorage,
+            MeterRegistry meterRegistry,
+            @Value("${images.thumbnail-store.segment.max-bytes:268435456}") long segmentMaxBytes, // 256MB default
+            @Value("${images.thumbnail-store.segment.fsync:false}") boolean fsync,
+            @Value("${images.thumbnail-store.compaction.interval-seconds:600}") long compactionIntervalSeconds,
+            @Value("${images.thumbnail-store.compaction.min-dead-ratio:0.5}") double compactionMinDeadRatio
+    ) throws IOException {
+        // 공유 저장소(S3)를 쓰면서 썸네일만 파드 로컬 세그먼트에 두면 파드마다 썸네일이 달라진다
+        if (!(objectStorage instanceof LocalObjectStorage)) {
+            throw new IllegalStateException(
+                    "images.thumbnail-store.type=segment requires images.storage.type=local (segments are pod-local files)"
+            );
+        }
+        this.blobStore = new SegmentBlobStore(
+                imageStorageLayout.getRoot().resolve(SEGMENT_DIR), segmentMaxBytes, fsync
+        );
+        this.legacyStore = new FileThumbnailStore(objectStorage, imageStorageLayout);
+        this.compactionMinDeadRatio = compactionMinDeadRatio;
+
+        Gauge.builder("image.blobstore.keys", blobStore, SegmentBlobStore::size).register(meterRegistry);
+        Gauge.builder("image.blobstore.segments", blobStore, SegmentBlobStore::segmentCount).register(meterRegistry);
+        Gauge.builder("image.blobstore.bytes", blobStore, SegmentBlobStore::totalBytes)
+                .tag("state", "total").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("image.blobstore.bytes", blobStore, SegmentBlobStore::deadBytes)
+                .tag("state", "dead").baseUnit("bytes").register(meterRegistry);
+
+        // 삭제로 생긴 빈 공간은 백그라운드에서 회수
+        this.compactionScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("image-blob-compaction-")
+        );
+        compactionScheduler.scheduleWithFixedDelay(
+                this::compact, compactionIntervalSeconds, compactionIntervalSeconds, TimeUnit.SECONDS
+        );
+    }
+
+    @Override
+    public void put(String imageId, byte[] bytes) throws IOException {
+        blobStore.put(imageId, bytes);
+    }
+
+    @Override
+    public byte[] getOrNull(String imageId) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = blobStore.get(imageId);
+        } catch (SegmentBlobStore.CorruptedBlobException e) {
+            log.error("Corrupted thumbnail in segment store, regenerating - imageId: {}", imageId, e);
+            bytes = null;
+        }
+        return bytes != null ? bytes : legacyStore.getOrNull(imageId);
+    }
+
+    @Override
+    public void delete(String imageId) throws IOException {
+        blobStore.delete(imageId);
+        legacyStore.delete(imageId);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        compactionScheduler.shutdownNow();
+        blobStore.close();
+    }
+
+    private void compact() {
+        try {
+            long reclaimed = blobStore.compact(compactionMinDeadRatio);
+            if (reclaimed > 0) {
+                log.info("Thumbnail segment compaction reclaimed {} bytes", reclaimed);
+            }
+        } catch (Exception e) {
+            log.error("Thumbnail segment compaction failed", e);
+        }
+    }
+}
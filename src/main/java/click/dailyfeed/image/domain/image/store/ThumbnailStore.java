@@ -0,0 +1,15 @@
+package click.dailyfeed.image.domain.image.store;
+
+import java.io.IOException;
+
+/// 썸네일 저장소 (images.thumbnail-store.type: file | segment)
+/// 썸네일은 작고 개수가 많아 원본과 다른 저장 방식을 고를 수 있게 분리한다. 포맷은 본문 시그니처로 판별한다
+public interface ThumbnailStore {
+
+    void put(String imageId, byte[] bytes) throws IOException;
+
+    /// 없으면 null
+    byte[] getOrNull(String imageId) throws IOException;
+
+    void delete(String imageId) throws IOException;
+}
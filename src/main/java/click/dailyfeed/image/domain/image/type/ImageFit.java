@@ -0,0 +1,21 @@
+package click.dailyfeed.image.domain.image.type;
+
+/// 변형 이미지 맞춤 방식
+public enum ImageFit {
+    /// 영역을 가득 채우고 넘치는 부분은 가운데 기준으로 잘라냄 (썸네일과 동일)
+    COVER,
+    /// 비율을 유지한 채 영역 안에 들어가도록 축소
+    CONTAIN;
+
+    public static ImageFit fromOrDefault(String value) {
+        if (value == null || value.isBlank()) {
+            return COVER;
+        }
+        for (ImageFit fit : values()) {
+            if (fit.name().equalsIgnoreCase(value.trim())) {
+                return fit;
+            }
+        }
+        return COVER;
+    }
+}
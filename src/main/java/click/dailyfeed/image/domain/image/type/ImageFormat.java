@@ -0,0 +1,100 @@
+package click.dailyfeed.image.domain.image.type;
+
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+import java.util.List;
+
+/// 저장/응답 이미지 포맷
+/// 확장자는 기존 저장 파일(<id>.PNG)과 호환되도록 대문자를 사용한다
+public enum ImageFormat {
+    PNG("PNG", "png", MediaType.IMAGE_PNG),
+    JPEG("JPG", "jpg", MediaType.IMAGE_JPEG),
+    WEBP("WEBP", "webp", MediaType.parseMediaType("image/webp"));
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] RIFF_SIGNATURE = {0x52, 0x49, 0x46, 0x46};
+
+    private final String extension;
+    private final String formatName;
+    private final MediaType mediaType;
+
+    ImageFormat(String extension, String formatName, MediaType mediaType) {
+        this.extension = extension;
+        this.formatName = formatName;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /// ImageIO / Thumbnailator 출력 포맷 이름
+    public String getFormatName() {
+        return formatName;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String withFileName(String fileName) {
+        return fileName + "." + extension;
+    }
+
+    /// 런타임에 이 포맷의 ImageIO 인코더가 등록되어 있는지 (WebP 는 플러그인 필요)
+    public boolean isEncodable() {
+        return ImageIO.getImageWritersByFormatName(formatName).hasNext();
+    }
+
+    /// Accept 헤더가 이 포맷을 명시적으로 허용하는지 (q=0 은 거부)
+    /// 와일드카드(*/*, image/*)는 구형 클라이언트도 보내므로 협상 근거로 쓰지 않는다
+    public boolean isAcceptedBy(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        for (MediaType candidate : mediaTypes) {
+            if (!candidate.isWildcardType() && !candidate.isWildcardSubtype()
+                    && candidate.getType().equalsIgnoreCase(mediaType.getType())
+                    && candidate.getSubtype().equalsIgnoreCase(mediaType.getSubtype())) {
+                return candidate.getQualityValue() > 0;
+            }
+        }
+        return false;
+    }
+
+    /// 인코딩된 바이트의 시그니처로 포맷 판별 (캐시된 바이트는 파일 확장자가 없으므로)
+    public static ImageFormat detect(byte[] bytes) {
+        if (startsWith(bytes, PNG_SIGNATURE)) {
+            return PNG;
+        }
+        if (startsWith(bytes, JPEG_SIGNATURE)) {
+            return JPEG;
+        }
+        if (startsWith(bytes, RIFF_SIGNATURE)) {
+            return WEBP;
+        }
+        return PNG;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes == null || bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
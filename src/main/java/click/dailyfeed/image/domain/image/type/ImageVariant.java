@@ -0,0 +1,10 @@
+package click.dailyfeed.image.domain.image.type;
+
+/// 허용 목록으로 보정된 변형 이미지 규격 (?w=&h=&fit=)
+public record ImageVariant(int width, int height, ImageFit fit) {
+
+    /// 파일명/캐시 키/ETag 에 쓰는 규격 문자열 (예: 128x128-cover)
+    public String key() {
+        return width + "x" + height + "-" + fit.name().toLowerCase();
+    }
+}
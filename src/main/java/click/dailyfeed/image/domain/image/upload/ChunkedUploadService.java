@@ -0,0 +1,324 @@
+package click.dailyfeed.image.domain.image.upload;
+
+import click.dailyfeed.image.domain.image.dto.UploadSessionStatus;
+import click.dailyfeed.image.domain.image.exception.UploadOffsetMismatchException;
+import click.dailyfeed.image.domain.image.exception.UploadSessionBusyException;
+import click.dailyfeed.image.domain.image.exception.UploadSessionNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/// 이어 올리기(청크 업로드): 세션 생성 → offset 을 붙인 청크 PUT → 완료 시 한 번만 이미지 처리
+///
+/// - 청크는 upload-root/.uploads/<uploadId>.part 에 FileChannel 위치 쓰기로 기록 (요청 본문을 힙에 모으지 않음)
+/// - offset 은 서버가 받은 바이트 수와 같아야 한다. 연결이 끊긴 청크도 받은 만큼은 유지되므로 클라이언트는 상태 조회 후 이어서 보낸다
+/// - 본문 읽기(네트워크 대기)는 세션 잠금 밖에서 한다. 잠금 안에서는 쓰기 권한(writing)만 잡고 풀며, 그동안 같은 세션의 다른 청크/완료 요청은 409
+/// - 세션은 파드 메모리에 보관하고, session-ttl 동안 청크가 오지 않은 세션과 재시작 전에 남은 스풀 파일은 백그라운드에서 정리
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final String SPOOL_DIR = ".uploads";
+    private static final String PART_SUFFIX = ".part";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final Path spoolDir;
+    private final long maxFileSize;
+    private final long maxChunkBytes;
+    private final long sessionTtlMillis;
+    private final long sweepIntervalSeconds;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Counter expiredCounter;
+
+    private ScheduledExecutorService sweeper;
+
+    public ChunkedUploadService(
+            @Value("${images.upload-root}") String imageRoot,
+            @Value("${images.max-file-size:10485760}") long maxFileSize,
+            @Value("${images.upload.chunked.max-chunk-bytes:1048576}") long maxChunkBytes,
+            @Value("${images.upload.chunked.session-ttl-seconds:86400}") long sessionTtlSeconds,
+            @Value("${images.upload.chunked.sweep-interval-seconds:300}") long sweepIntervalSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.spoolDir = Paths.get(imageRoot).resolve(SPOOL_DIR);
+        this.maxFileSize = maxFileSize;
+        this.maxChunkBytes = maxChunkBytes;
+        this.sessionTtlMillis = TimeUnit.SECONDS.toMillis(sessionTtlSeconds);
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+
+        Gauge.builder("image.upload.sessions", sessions, Map::size)
+                .description("Chunked upload sessions in progress")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("image.upload.sessions.expired")
+                .description("Abandoned chunked upload sessions removed by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() throws IOException {
+        Files.createDirectories(spoolDir);
+        sweeper = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("image-upload-sweeper-"));
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /// 세션 생성. 전체 크기는 일반 업로드와 같은 max-file-size 로 제한한다
+    public UploadSessionStatus create(String fileName, String contentType, long size) throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Upload size must be positive");
+        }
+        if (size > maxFileSize) {
+            throw new IllegalArgumentException(
+                    String.format("File size exceeds maximum allowed size: %d bytes", maxFileSize)
+            );
+        }
+        if (contentType == null || contentType.isBlank()) {
+            throw new IllegalArgumentException("Content type is required");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path path = spoolDir.resolve(uploadId + PART_SUFFIX);
+        Files.createDirectories(spoolDir);
+        Files.createFile(path);
+
+        UploadSession session = new UploadSession(uploadId, path, fileName, contentType, size);
+        sessions.put(uploadId, session);
+        log.debug("Chunked upload started - uploadId: {}, size: {}", uploadId, size);
+        return session.status();
+    }
+
+    /// offset 위치에 청크를 기록하고 갱신된 상태를 돌려준다
+    /// 본문을 읽다 연결이 끊기면 그때까지 기록한 바이트는 받은 것으로 남기고 예외를 그대로 던진다
+    public UploadSessionStatus append(String uploadId, long offset, InputStream body) throws IOException {
+        UploadSession session = sessionOrThrow(uploadId);
+        long limit;
+        synchronized (session) {
+            checkWritable(session);
+            if (offset != session.received) {
+                throw new UploadOffsetMismatchException(offset, session.received);
+            }
+            limit = Math.min(maxChunkBytes, session.size - offset);
+            session.writing = true;
+            session.touch();
+        }
+
+        long written = 0;
+        boolean overflow = false;
+        try (FileChannel channel = FileChannel.open(session.path, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            int read;
+            // limit 보다 1 바이트 더 읽어 청크가 허용 범위를 넘는지 확인
+            while ((read = body.read(buffer.array(), 0, (int) Math.min(buffer.capacity(), limit - written + 1))) != -1) {
+                if (written + read > limit) {
+                    overflow = true;
+                    break;
+                }
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+        } catch (IOException e) {
+            finishWrite(session, offset + written);
+            log.debug("Chunk interrupted - uploadId: {}, offset: {}, kept: {}", uploadId, offset, written);
+            throw e;
+        } catch (RuntimeException e) {
+            finishWrite(session, offset + written);
+            throw e;
+        }
+
+        if (overflow) {
+            // 청크 전체를 버린다 (받은 바이트 수는 그대로, 기록된 바이트는 다음 청크가 덮어쓴다)
+            finishWrite(session, offset);
+            throw new IllegalArgumentException(String.format(
+                    "Chunk exceeds limit: max %d bytes from offset %d (chunk limit %d, upload size %d)",
+                    limit, offset, maxChunkBytes, session.size
+            ));
+        }
+
+        return finishWrite(session, offset + written);
+    }
+
+    public UploadSessionStatus status(String uploadId) {
+        UploadSession session = sessionOrThrow(uploadId);
+        synchronized (session) {
+            return session.status();
+        }
+    }
+
+    /// 모든 바이트를 받았으면 처리 중으로 표시하고 스풀 파일을 돌려준다 (이후 청크/중복 완료 요청은 거부)
+    /// 처리가 끝났거나 본문이 잘못되었으면 discard, 처리 풀 포화나 서버 쪽 실패면 reopen 으로 다시 완료 요청을 받을 수 있게 한다
+    public SpooledUploadFile complete(String uploadId) {
+        UploadSession session = sessionOrThrow(uploadId);
+        synchronized (session) {
+            checkWritable(session);
+            if (session.received != session.size) {
+                throw new IllegalArgumentException(String.format(
+                        "Upload incomplete: %d of %d bytes received", session.received, session.size
+                ));
+            }
+            session.finalizing = true;
+            session.touch();
+            return new SpooledUploadFile(session.path, session.fileName, session.contentType, session.size);
+        }
+    }
+
+    public void reopen(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session != null) {
+            synchronized (session) {
+                session.finalizing = false;
+                session.touch();
+            }
+        }
+    }
+
+    /// 세션과 스풀 파일 삭제 (처리 완료 또는 클라이언트의 취소)
+    public void discard(String uploadId) {
+        UploadSession session = sessions.remove(uploadId);
+        if (session != null) {
+            synchronized (session) {
+                deleteSpoolQuietly(session.path);
+            }
+        }
+    }
+
+    /// helpers ///
+
+    /// session-ttl 동안 청크가 오지 않은 세션과, 세션이 없는(재시작 전에 남은) 오래된 스풀 파일을 삭제
+    void sweep() throws IOException {
+        long expiredBefore = System.currentTimeMillis() - sessionTtlMillis;
+
+        for (UploadSession session : sessions.values()) {
+            synchronized (session) {
+                if (!session.finalizing && !session.writing && session.lastTouchedMillis <= expiredBefore) {
+                    sessions.remove(session.uploadId, session);
+                    deleteSpoolQuietly(session.path);
+                    expiredCounter.increment();
+                    log.info("Expired chunked upload removed - uploadId: {}, received: {} of {}",
+                            session.uploadId, session.received, session.size);
+                }
+            }
+        }
+
+        if (!Files.isDirectory(spoolDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(spoolDir, "*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                String fileName = part.getFileName().toString();
+                String uploadId = fileName.substring(0, fileName.length() - PART_SUFFIX.length());
+                if (!sessions.containsKey(uploadId)
+                        && Files.getLastModifiedTime(part).toMillis() <= expiredBefore) {
+                    deleteSpoolQuietly(part);
+                    expiredCounter.increment();
+                }
+            }
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            log.warn("Failed to sweep chunked upload sessions", e);
+        }
+    }
+
+    private UploadSession sessionOrThrow(String uploadId) {
+        UploadSession session = uploadId != null ? sessions.get(uploadId) : null;
+        if (session == null) {
+            throw new UploadSessionNotFoundException(uploadId);
+        }
+        return session;
+    }
+
+    private void checkWritable(UploadSession session) {
+        if (sessions.get(session.uploadId) != session) {
+            // 잠금을 기다리는 사이 정리/취소된 세션
+            throw new UploadSessionNotFoundException(session.uploadId);
+        }
+        if (session.finalizing) {
+            throw new UploadSessionBusyException("Upload is already being finalized: " + session.uploadId);
+        }
+        if (session.writing) {
+            throw new UploadSessionBusyException("Another chunk is being written: " + session.uploadId);
+        }
+    }
+
+    /// 쓰기 권한을 돌려주고 받은 바이트 수를 갱신 (잠금 밖에서 쓰는 동안 취소/정리되었으면 상태만 돌려준다)
+    private UploadSessionStatus finishWrite(UploadSession session, long received) {
+        synchronized (session) {
+            session.writing = false;
+            session.received = received;
+            session.touch();
+            return session.status();
+        }
+    }
+
+    private void deleteSpoolQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool file: {}", path, e);
+        }
+    }
+
+    /// 필드는 세션 객체의 잠금 안에서만 읽고 쓴다
+    private static class UploadSession {
+        private final String uploadId;
+        private final Path path;
+        private final String fileName;
+        private final String contentType;
+        private final long size;
+        private long received;
+        private boolean finalizing;
+        private boolean writing;
+        private long lastTouchedMillis = System.currentTimeMillis();
+
+        private UploadSession(String uploadId, Path path, String fileName, String contentType, long size) {
+            this.uploadId = uploadId;
+            this.path = path;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+        }
+
+        private void touch() {
+            lastTouchedMillis = System.currentTimeMillis();
+        }
+
+        private UploadSessionStatus status() {
+            return new UploadSessionStatus(uploadId, size, received, received == size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package click.dailyfeed.image.domain.image.upload;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/// 청크를 모두 받은 스풀 파일을 multipart 업로드와 같은 저장 경로(store)로 넘기기 위한 래퍼
+/// 본문은 매번 스풀 파일에서 새로 읽는다 (힙에 올리지 않음)
+public class SpooledUploadFile implements MultipartFile {
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    SpooledUploadFile(Path path, String originalFilename, String contentType, long size) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return "image";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
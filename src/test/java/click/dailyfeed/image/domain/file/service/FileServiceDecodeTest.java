@@ -0,0 +1,79 @@
+package click.dailyfeed.image.domain.file.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileServiceDecodeTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScratchRasterPool rasterPool = new ScratchRasterPool(16 * 1024 * 1024, meterRegistry);
+    private final FileService fileService = new FileService(
+            new ImageMetadataStripper(), meterRegistry, new ImageCodecPool(8, meterRegistry), rasterPool
+    );
+
+    @Test
+    void truncatedUploadDoesNotShowPreviousUploadsPixels() throws IOException {
+        // 다른 사용자의 업로드가 디코딩된 래스터를 풀에 반환
+        BufferedImage previous = fileService.decodeOrThrow(jpeg(solid(Color.RED)));
+        rasterPool.release(previous);
+
+        // 같은 규격의 잘린 JPEG (본문 앞부분만)
+        byte[] truncated = jpeg(solid(Color.BLUE));
+        BufferedImage decoded = fileService.decodeOrThrow(Arrays.copyOf(truncated, truncated.length / 3));
+
+        assertThat(decoded).isSameAs(previous);
+        for (int y = 0; y < decoded.getHeight(); y++) {
+            for (int x = 0; x < decoded.getWidth(); x++) {
+                Color color = new Color(decoded.getRGB(x, y));
+                assertThat(color.getRed() > 200 && color.getBlue() < 60)
+                        .as("foreign pixel at %d,%d", x, y)
+                        .isFalse();
+            }
+        }
+    }
+
+    @Test
+    void reusedRasterIsClearedOnAcquire() {
+        BufferedImage previous = solid(Color.RED);
+        rasterPool.release(previous);
+
+        BufferedImage reused = rasterPool.acquireCleared(previous.getWidth(), previous.getHeight(), previous.getType());
+
+        assertThat(reused).isSameAs(previous);
+        assertThat(reused.getRGB(0, 0)).isEqualTo(new BufferedImage(1, 1, previous.getType()).getRGB(0, 0));
+        assertThat(reused.getRGB(reused.getWidth() - 1, reused.getHeight() - 1)).isEqualTo(reused.getRGB(0, 0));
+    }
+
+    private static BufferedImage solid(Color color) {
+        BufferedImage image = new BufferedImage(256, 192, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            // 잘라도 스캔 데이터가 남도록 줄무늬를 넣는다
+            graphics.setColor(Color.WHITE);
+            for (int y = 0; y < image.getHeight(); y += 8) {
+                graphics.drawLine(0, y, image.getWidth(), y + 4);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+}
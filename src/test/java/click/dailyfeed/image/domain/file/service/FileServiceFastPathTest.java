@@ -0,0 +1,96 @@
+package click.dailyfeed.image.domain.file.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileServiceFastPathTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() {
+        fileService = new FileService(
+                new ImageMetadataStripper(), meterRegistry,
+                new ImageCodecPool(8, meterRegistry), new ScratchRasterPool(0, meterRegistry)
+        );
+        ReflectionTestUtils.setField(fileService, "fastPathEnabled", true);
+        ReflectionTestUtils.setField(fileService, "fastPathMaxBytes", 262144L);
+    }
+
+    @Test
+    void corruptBodyWithValidChunksFallsBackWhenDecodeIsVerified() throws IOException {
+        // 청크 구조와 CRC 는 정상이지만 IDAT 압축 데이터가 깨진 PNG
+        byte[] png = corruptIdat(png(40, 30));
+
+        assertThat(fileService.tryFastPathOrNull(stream(png), png.length, 350, 350, false)).isNotNull();
+
+        InputStream imageStream = stream(png);
+        assertThat(fileService.tryFastPathOrNull(imageStream, png.length, 350, 350, true)).isNull();
+        // 미스면 스트림을 되감아 일반 경로가 처음부터 읽는다
+        assertThat(imageStream.readAllBytes()).isEqualTo(png);
+        assertThat(meterRegistry.get("image.upload.fastpath").tag("reason", "decode").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void decodableBodyStillTakesFastPath() throws IOException {
+        byte[] png = png(40, 30);
+
+        FileService.FastPathImage image = fileService.tryFastPathOrNull(stream(png), png.length, 350, 350, true);
+
+        assertThat(image).isNotNull();
+        assertThat(ImageIO.read(new ByteArrayInputStream(image.bytes())).getWidth()).isEqualTo(40);
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new BufferedInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    /// IDAT 데이터를 덮어쓰고 CRC 는 다시 계산 (구조 검증은 통과)
+    private static byte[] corruptIdat(byte[] png) {
+        byte[] corrupted = png.clone();
+        int pos = 8;
+        while (pos < corrupted.length) {
+            int length = (int) u32(corrupted, pos);
+            String type = new String(corrupted, pos + 4, 4, StandardCharsets.ISO_8859_1);
+            if (type.equals("IDAT")) {
+                for (int i = 0; i < length; i++) {
+                    corrupted[pos + 8 + i] = 0x5A;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(corrupted, pos + 4, 4 + length);
+                long value = crc.getValue();
+                for (int i = 0; i < 4; i++) {
+                    corrupted[pos + 8 + length + i] = (byte) (value >>> (24 - 8 * i));
+                }
+            }
+            pos += 12 + length;
+        }
+        return corrupted;
+    }
+
+    private static long u32(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFFL) << 24) | ((bytes[offset + 1] & 0xFFL) << 16)
+                | ((bytes[offset + 2] & 0xFFL) << 8) | (bytes[offset + 3] & 0xFFL);
+    }
+}
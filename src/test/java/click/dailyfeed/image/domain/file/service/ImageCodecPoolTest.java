@@ -0,0 +1,110 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.code.domain.image.exception.CorruptedImageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageCodecPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ImageCodecPool codecPool = new ImageCodecPool(2, meterRegistry);
+    private final ScratchRasterPool rasterPool = new ScratchRasterPool(16 * 1024 * 1024, meterRegistry);
+
+    @Test
+    void reusedWriterProducesSameBytes() throws IOException {
+        BufferedImage image = gradient(64, 48, BufferedImage.TYPE_3BYTE_BGR);
+
+        byte[] first = codecPool.encodeOrThrow(image, "jpeg", 0.85);
+        byte[] second = codecPool.encodeOrThrow(image, "jpeg", 0.85);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(lookups("writer", "hit")).isEqualTo(1);
+        assertThat(ImageIO.read(new ByteArrayInputStream(first)).getWidth()).isEqualTo(64);
+    }
+
+    @Test
+    void decodingIntoReusedRasterOverwritesPreviousContent() throws IOException {
+        byte[] png = codecPool.encodeOrThrow(gradient(40, 30, BufferedImage.TYPE_4BYTE_ABGR), "png", null);
+        BufferedImage expected = ImageIO.read(new ByteArrayInputStream(png));
+
+        BufferedImage first = decode(png);
+        fill(first, 0x7F123456);
+        rasterPool.release(first);
+        BufferedImage second = decode(png);
+
+        assertThat(second).isSameAs(first);
+        assertThat(lookups("reader", "hit")).isEqualTo(1);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertThat(second.getRGB(x, y)).isEqualTo(expected.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void rejectsInputWithoutReader() throws IOException {
+        byte[] text = "definitely not an image".getBytes(StandardCharsets.US_ASCII);
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(text))) {
+            assertThatThrownBy(() -> codecPool.borrowReaderOrThrow(iis)).isInstanceOf(CorruptedImageException.class);
+        }
+    }
+
+    @Test
+    void rasterReleasedTwiceIsHandedOutOnce() {
+        BufferedImage raster = rasterPool.acquire(10, 10, BufferedImage.TYPE_INT_RGB);
+        rasterPool.release(raster, raster);
+        rasterPool.release(raster);
+
+        assertThat(rasterPool.acquire(10, 10, BufferedImage.TYPE_INT_RGB)).isSameAs(raster);
+        assertThat(rasterPool.acquire(10, 10, BufferedImage.TYPE_INT_RGB)).isNotSameAs(raster);
+    }
+
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(bytes))) {
+            ImageReader reader = codecPool.borrowReaderOrThrow(iis);
+            try {
+                ImageReadParam param = reader.getDefaultReadParam();
+                int type = reader.getImageTypes(0).next().getBufferedImageType();
+                param.setDestination(rasterPool.acquire(reader.getWidth(0), reader.getHeight(0), type));
+                return reader.read(0, param);
+            } finally {
+                codecPool.release(reader);
+            }
+        }
+    }
+
+    private double lookups(String kind, String result) {
+        return meterRegistry.get("image.codec.pool.lookups").tag("kind", kind).tag("result", result).counter().count();
+    }
+
+    private static BufferedImage gradient(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, ((x * 6 & 0xFF) << 24) | ((x * 6 & 0xFF) << 16) | ((y * 8 & 0xFF) << 8) | 0x40);
+            }
+        }
+        return image;
+    }
+
+    private static void fill(BufferedImage image, int argb) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageLayoutMigrationServiceTest {
+
+    private static final String IMAGE_ID = "3f2b9c1e-8a4d-4e6f-9b1a-2c3d4e5f6a7b";
+
+    @TempDir
+    Path root;
+
+    private ImageStorageLayout layout;
+    private ImageLayoutMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() {
+        layout = new ImageStorageLayout(root.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FileService fileService = new FileService(
+                new ImageMetadataStripper(), meterRegistry,
+                new ImageCodecPool(8, meterRegistry), new ScratchRasterPool(0, meterRegistry)
+        );
+        migrationService = new ImageLayoutMigrationService(layout, fileService);
+    }
+
+    @Test
+    void shardedPathFansOutByIdPrefix() {
+        assertThat(layout.shardedPath(IMAGE_ID, ImageFormat.JPEG))
+                .isEqualTo(root.resolve("3f").resolve("2b").resolve(IMAGE_ID + ".JPG"));
+        // 썸네일은 원본과 같은 샤드에 놓인다
+        assertThat(layout.shardedPath(IMAGE_ID + "-thumbnail", ImageFormat.JPEG).getParent())
+                .isEqualTo(layout.shardDir(IMAGE_ID));
+    }
+
+    @Test
+    void lookupFallsBackToFlatLayoutUntilMigrated() throws Exception {
+        Path flat = Files.writeString(layout.flatPath(IMAGE_ID, ImageFormat.PNG), "png");
+        Path flatThumbnail = Files.writeString(layout.flatPath(IMAGE_ID + "-thumbnail", ImageFormat.PNG), "thumb");
+        Path legacyVariant = Files.createDirectories(layout.legacyVariantDir(IMAGE_ID));
+        Files.writeString(legacyVariant.resolve("128x128-cover.PNG"), "variant");
+
+        assertThat(layout.resolveExistingOrNull(IMAGE_ID, ImageFormat.PNG)).isEqualTo(flat);
+
+        assertThat(migrationService.startAsync()).isTrue();
+        awaitFinished();
+
+        Path sharded = layout.shardedPath(IMAGE_ID, ImageFormat.PNG);
+        assertThat(layout.resolveExistingOrNull(IMAGE_ID, ImageFormat.PNG)).isEqualTo(sharded);
+        assertThat(Files.readString(sharded)).isEqualTo("png");
+        assertThat(flat).doesNotExist();
+        assertThat(flatThumbnail).doesNotExist();
+        assertThat(layout.variantDir(IMAGE_ID).resolve("128x128-cover.PNG")).hasContent("variant");
+        assertThat(legacyVariant).doesNotExist();
+
+        ImageLayoutMigrationService.MigrationStatus status = migrationService.status();
+        assertThat(status.moved()).isEqualTo(3);
+        assertThat(status.failed()).isZero();
+    }
+
+    @Test
+    void rerunSkipsAlreadyMigratedFiles() throws Exception {
+        Path sharded = layout.shardedPath(IMAGE_ID, ImageFormat.JPEG);
+        Files.createDirectories(sharded.getParent());
+        Files.writeString(sharded, "new");
+        Path flat = Files.writeString(layout.flatPath(IMAGE_ID, ImageFormat.JPEG), "old");
+
+        migrationService.startAsync();
+        awaitFinished();
+
+        assertThat(sharded).hasContent("new");
+        assertThat(flat).doesNotExist();
+        assertThat(migrationService.status().skipped()).isEqualTo(1);
+    }
+
+    private void awaitFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (migrationService.status().running() || migrationService.status().finishedAt() == null) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Migration did not finish within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
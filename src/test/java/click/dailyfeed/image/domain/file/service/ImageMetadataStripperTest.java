@@ -0,0 +1,146 @@
+package click.dailyfeed.image.domain.file.service;
+
+import click.dailyfeed.code.domain.image.exception.CorruptedImageException;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageMetadataStripperTest {
+
+    private final ImageMetadataStripper stripper = new ImageMetadataStripper();
+
+    @Test
+    void removesExifSegmentAndKeepsJpegDecodable() throws IOException {
+        byte[] jpeg = encode("jpg", 40, 30);
+        byte[] exif = "Exif\0\0secret-gps-location".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] withExif = concat(Arrays.copyOfRange(jpeg, 0, 2), segment(0xE1, exif), Arrays.copyOfRange(jpeg, 2, jpeg.length));
+
+        byte[] stripped = stripper.stripJpegOrThrow(withExif);
+
+        assertThat(contains(stripped, exif)).isFalse();
+        assertThat(stripped).hasSize(jpeg.length);
+        assertDecodes(stripped, 40, 30);
+    }
+
+    @Test
+    void dropsDataAppendedAfterJpegEoi() throws IOException {
+        byte[] jpeg = encode("jpg", 16, 16);
+        byte[] trailing = "PK\3\4appended-archive".getBytes(StandardCharsets.ISO_8859_1);
+
+        byte[] stripped = stripper.stripJpegOrThrow(concat(jpeg, trailing));
+
+        assertThat(stripped).isEqualTo(stripper.stripJpegOrThrow(jpeg));
+    }
+
+    @Test
+    void rejectsTruncatedJpeg() throws IOException {
+        byte[] jpeg = encode("jpg", 16, 16);
+
+        assertThatThrownBy(() -> stripper.stripJpegOrThrow(Arrays.copyOf(jpeg, 20)))
+                .isInstanceOf(CorruptedImageException.class);
+    }
+
+    @Test
+    void rejectsJpegEndingInFillBytes() throws IOException {
+        byte[] jpeg = encode("jpg", 16, 16);
+        // SOF 세그먼트까지만 남기고 채움 바이트(0xFF)로 끝나는 본문
+        int sof = indexOf(jpeg, new byte[]{(byte) 0xFF, (byte) 0xC0});
+        int sofEnd = sof + 2 + (((jpeg[sof + 2] & 0xFF) << 8) | (jpeg[sof + 3] & 0xFF));
+        byte[] fill = new byte[6];
+        Arrays.fill(fill, (byte) 0xFF);
+
+        assertThatThrownBy(() -> stripper.stripJpegOrThrow(concat(Arrays.copyOf(jpeg, sofEnd), fill)))
+                .isInstanceOf(CorruptedImageException.class);
+    }
+
+    @Test
+    void removesTextChunkAndKeepsPngDecodable() throws IOException {
+        byte[] png = encode("png", 20, 10);
+        byte[] text = "Comment\0taken at home".getBytes(StandardCharsets.ISO_8859_1);
+        // IHDR(8 + 25 바이트) 바로 뒤에 tEXt 청크 삽입
+        byte[] withText = concat(Arrays.copyOfRange(png, 0, 33), chunk("tEXt", text), Arrays.copyOfRange(png, 33, png.length));
+
+        byte[] stripped = stripper.stripPngOrThrow(withText);
+
+        assertThat(contains(stripped, text)).isFalse();
+        assertThat(stripped).isEqualTo(png);
+        assertDecodes(stripped, 20, 10);
+    }
+
+    @Test
+    void rejectsPngWithBadChunkCrc() throws IOException {
+        byte[] png = encode("png", 8, 8);
+        png[30] ^= 0x01; // IHDR 데이터 변조
+
+        assertThatThrownBy(() -> stripper.stripPngOrThrow(png))
+                .isInstanceOf(CorruptedImageException.class);
+    }
+
+    private byte[] encode(String format, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private void assertDecodes(byte[] bytes, int width, int height) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.getWidth()).isEqualTo(width);
+        assertThat(decoded.getHeight()).isEqualTo(height);
+    }
+
+    private byte[] segment(int marker, byte[] data) {
+        int length = data.length + 2;
+        return concat(new byte[]{(byte) 0xFF, (byte) marker, (byte) (length >> 8), (byte) length}, data);
+    }
+
+    private byte[] chunk(String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.ISO_8859_1);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        long value = crc.getValue();
+        return concat(
+                new byte[]{(byte) (data.length >> 24), (byte) (data.length >> 16), (byte) (data.length >> 8), (byte) data.length},
+                typeBytes,
+                data,
+                new byte[]{(byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value}
+        );
+    }
+
+    private byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private boolean contains(byte[] haystack, byte[] needle) {
+        return indexOf(haystack, needle) >= 0;
+    }
+
+    private int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,227 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// 테스트용 인프로세스 S3 (path-style PUT/GET/HEAD/DELETE, Multi-Object Delete, Range, SigV4 서명 검증)
+class FakeS3Server implements AutoCloseable {
+
+    static final String ACCESS_KEY = "test-access-key";
+    static final String SECRET_KEY = "test-secret-key";
+    static final String REGION = "us-east-1";
+    static final String BUCKET = "images";
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>(.*?)</Key>");
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final HttpServer server;
+    private final AwsSigV4Signer signer = new AwsSigV4Signer(ACCESS_KEY, SECRET_KEY, REGION);
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final Set<String> undeletableKeys = ConcurrentHashMap.newKeySet();
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    byte[] object(String key) {
+        StoredObject object = objects.get(key);
+        return object != null ? object.bytes() : null;
+    }
+
+    String contentType(String key) {
+        StoredObject object = objects.get(key);
+        return object != null ? object.contentType() : null;
+    }
+
+    List<Request> requests() {
+        return requests;
+    }
+
+    /// 일괄 삭제 응답에서 이 키를 <Error> 로 돌려준다
+    void failDeletesOf(String key) {
+        undeletableKeys.add(key);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            requests.add(new Request(
+                    method,
+                    exchange.getRequestHeaders().getFirst("Range"),
+                    exchange.getRequestHeaders().getFirst("Content-Length"),
+                    exchange.getRequestHeaders().getFirst("Transfer-Encoding")
+            ));
+
+            if (!isSignatureValid(exchange)) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            if (method.equals("POST") && path.equals("/" + BUCKET) && "delete".equals(exchange.getRequestURI().getRawQuery())) {
+                deleteObjects(exchange);
+                return;
+            }
+
+            String prefix = "/" + BUCKET + "/";
+            if (!path.startsWith(prefix)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String key = path.substring(prefix.length());
+
+            switch (method) {
+                case "PUT" -> {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    objects.put(key, new StoredObject(body, exchange.getRequestHeaders().getFirst("Content-Type"), Instant.now()));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET" -> get(exchange, objects.get(key));
+                case "HEAD" -> {
+                    StoredObject object = objects.get(key);
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.bytes().length));
+                    exchange.getResponseHeaders().set("Last-Modified",
+                            DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(object.lastModified(), ZoneOffset.UTC)));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "DELETE" -> {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void get(HttpExchange exchange, StoredObject object) throws IOException {
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+
+        byte[] bytes = object.bytes();
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range == null) {
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            return;
+        }
+
+        String[] bounds = range.substring("bytes=".length()).split("-", -1);
+        int start = Integer.parseInt(bounds[0]);
+        int end = bounds[1].isEmpty() ? bytes.length - 1 : Math.min(Integer.parseInt(bounds[1]), bytes.length - 1);
+        byte[] slice = Arrays.copyOfRange(bytes, start, end + 1);
+
+        exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + bytes.length);
+        exchange.sendResponseHeaders(206, slice.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(slice);
+        }
+    }
+
+    private void deleteObjects(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        String contentMd5 = exchange.getRequestHeaders().getFirst("Content-MD5");
+        if (contentMd5 == null || !contentMd5.equals(Base64.getEncoder().encodeToString(md5(body)))) {
+            exchange.sendResponseHeaders(400, -1);
+            return;
+        }
+
+        StringBuilder result = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><DeleteResult>");
+        Matcher keys = DELETE_KEY.matcher(new String(body, StandardCharsets.UTF_8));
+        while (keys.find()) {
+            String key = keys.group(1).replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+            if (undeletableKeys.contains(key)) {
+                result.append("<Error><Key>").append(keys.group(1)).append("</Key><Code>AccessDenied</Code></Error>");
+            } else {
+                objects.remove(key);
+            }
+        }
+        byte[] response = result.append("</DeleteResult>").toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private static byte[] md5(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(bytes);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /// 요청에 실린 서명 대상 헤더로 서명을 다시 계산해 비교
+    private boolean isSignatureValid(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String amzDate = exchange.getRequestHeaders().getFirst("x-amz-date");
+        String payloadHash = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (authorization == null || amzDate == null || payloadHash == null) {
+            return false;
+        }
+
+        String signedHeaders = authorization.replaceAll(".*SignedHeaders=([^,]+).*", "$1");
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : signedHeaders.split(";")) {
+            String value = exchange.getRequestHeaders().getFirst(name);
+            if (value == null) {
+                return false;
+            }
+            headers.put(name, value);
+        }
+
+        String query = exchange.getRequestURI().getRawQuery();
+        URI uri = URI.create(endpoint() + exchange.getRequestURI().getRawPath() + (query != null ? "?" + query : ""));
+        Instant signedAt = ZonedDateTime.parse(amzDate, AMZ_DATE).toInstant();
+        String expected = signer.authorization(exchange.getRequestMethod(), uri, headers, payloadHash, signedAt);
+        return expected.equals(authorization);
+    }
+
+    record Request(String method, String range, String contentLength, String transferEncoding) {
+    }
+
+    private record StoredObject(byte[] bytes, String contentType, Instant lastModified) {
+    }
+}
@@ -0,0 +1,139 @@
+package click.dailyfeed.image.domain.file.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3ObjectStorageTest {
+
+    private static final String KEY = "3f/2b/3f2b9c1e-8a4d-4e6f-9b1a-2c3d4e5f6a7b.JPG";
+
+    private FakeS3Server server;
+    private S3ObjectStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeS3Server();
+        storage = storage(FakeS3Server.SECRET_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void uploadIsStreamedWithKnownLength() throws Exception {
+        byte[] bytes = bytes(4096);
+
+        storage.put(KEY, new ByteArrayInputStream(bytes), bytes.length, "image/jpeg");
+
+        assertThat(server.object(KEY)).isEqualTo(bytes);
+        assertThat(server.contentType(KEY)).isEqualTo("image/jpeg");
+        FakeS3Server.Request put = server.requests().get(0);
+        assertThat(put.contentLength()).isEqualTo("4096");
+        assertThat(put.transferEncoding()).isNull();
+    }
+
+    @Test
+    void statAndFullRead() throws Exception {
+        byte[] bytes = bytes(1000);
+        storage.put(KEY, new ByteArrayInputStream(bytes), bytes.length, "image/jpeg");
+
+        ObjectStat stat = storage.statOrNull(KEY);
+        assertThat(stat).isNotNull();
+        assertThat(stat.length()).isEqualTo(1000);
+        assertThat(stat.lastModified()).isPositive();
+        assertThat(storage.getOrNull(KEY)).isEqualTo(bytes);
+    }
+
+    @Test
+    void rangedReadRequestsOnlyTheRegion() throws Exception {
+        byte[] bytes = bytes(1000);
+        storage.put(KEY, new ByteArrayInputStream(bytes), bytes.length, "image/jpeg");
+
+        try (InputStream in = storage.openOrNull(KEY, 100, 50)) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(bytes, 100, 150));
+        }
+        try (InputStream in = storage.openOrNull(KEY, 900, -1)) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(bytes, 900, 1000));
+        }
+
+        assertThat(server.requests())
+                .filteredOn(request -> request.method().equals("GET"))
+                .extracting(FakeS3Server.Request::range)
+                .containsExactly("bytes=100-149", "bytes=900-");
+    }
+
+    @Test
+    void missingAndDeletedObjectsAreNull() throws Exception {
+        assertThat(storage.statOrNull(KEY)).isNull();
+        assertThat(storage.getOrNull(KEY)).isNull();
+
+        byte[] bytes = bytes(10);
+        storage.put(KEY, new ByteArrayInputStream(bytes), bytes.length, "image/jpeg");
+        storage.delete(KEY);
+        storage.delete(KEY);
+
+        assertThat(storage.statOrNull(KEY)).isNull();
+        assertThat(storage.openOrNull(KEY, 0, -1)).isNull();
+    }
+
+    @Test
+    void deleteAllRemovesKeysInOneRequest() throws Exception {
+        List<String> keys = List.of(KEY, "3f/2b/other.JPG", "3f/2b/a&b.PNG");
+        for (String key : keys) {
+            storage.put(key, new ByteArrayInputStream(bytes(10)), 10, "image/jpeg");
+        }
+        server.requests().clear();
+
+        storage.deleteAll(keys);
+
+        keys.forEach(key -> assertThat(server.object(key)).isNull());
+        assertThat(server.requests()).extracting(FakeS3Server.Request::method).containsExactly("POST");
+    }
+
+    @Test
+    void deleteAllReportsKeysThatFailed() throws Exception {
+        storage.put(KEY, new ByteArrayInputStream(bytes(10)), 10, "image/jpeg");
+        server.failDeletesOf(KEY);
+
+        assertThatThrownBy(() -> storage.deleteAll(List.of(KEY, "3f/2b/other.JPG")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(KEY);
+        assertThat(server.object(KEY)).isNotNull();
+    }
+
+    @Test
+    void requestsWithWrongCredentialsAreRejected() {
+        S3ObjectStorage wrongSecret = storage("wrong-secret");
+
+        assertThatThrownBy(() -> wrongSecret.put(KEY, new ByteArrayInputStream(bytes(10)), 10, "image/jpeg"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("403");
+    }
+
+    private S3ObjectStorage storage(String secretKey) {
+        return new S3ObjectStorage(
+                server.endpoint(), FakeS3Server.REGION, FakeS3Server.BUCKET,
+                FakeS3Server.ACCESS_KEY, secretKey, 2000, 5000
+        );
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 7);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,88 @@
+package click.dailyfeed.image.domain.image.api;
+
+import click.dailyfeed.image.domain.image.exception.UploadSessionNotFoundException;
+import click.dailyfeed.image.domain.image.upload.ChunkedUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// 헤더 크기가 max-pixels 를 넘는 업로드는 처리 실패(500)가 아니라 클라이언트 오류(413)
+@ActiveProfiles("local-was-test")
+@SpringBootTest(properties = "images.max-pixels=100000")
+@AutoConfigureMockMvc
+class ImagePixelLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Test
+    void oversizedImageIsRejectedAsClientError() throws Exception {
+        // 400 x 400 = 160,000 픽셀 (max-width 350 을 넘으므로 fast path 가 아닌 디코딩 경로)
+        MockMultipartFile file = new MockMultipartFile("image", "large.png", MediaType.IMAGE_PNG_VALUE, png(400, 400));
+
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/images/upload").file(file))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void oversizedImageInBatchIsReportedPerItem() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "large.png", MediaType.IMAGE_PNG_VALUE, png(400, 400));
+
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/images/upload/batch").file(file))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value(413));
+    }
+
+    @Test
+    void oversizedChunkedUploadIsRejectedAndDiscarded() throws Exception {
+        byte[] content = png(400, 400);
+        String uploadId = chunkedUploadService.create("large.png", MediaType.IMAGE_PNG_VALUE, content.length).uploadId();
+        chunkedUploadService.append(uploadId, 0, new ByteArrayInputStream(content));
+
+        MvcResult asyncResult = mockMvc.perform(post("/api/images/upload/sessions/{uploadId}/complete", uploadId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isPayloadTooLarge());
+        // 같은 본문으로는 다시 완료해도 실패하므로 세션을 남기지 않는다
+        assertThatThrownBy(() -> chunkedUploadService.status(uploadId)).isInstanceOf(UploadSessionNotFoundException.class);
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
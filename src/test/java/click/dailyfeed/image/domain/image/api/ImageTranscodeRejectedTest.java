@@ -0,0 +1,92 @@
+package click.dailyfeed.image.domain.image.api;
+
+import click.dailyfeed.image.domain.image.service.ProfileImageStorageService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// Accept 협상으로 변환이 필요한 조회는 처리 풀이 가득 차면 404 가 아니라 503 + Retry-After
+@ActiveProfiles("local-was-test")
+@SpringBootTest(properties = {
+        "images.webp.enabled=true",
+        "images.processing.pool-size=1",
+        "images.processing.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class ImageTranscodeRejectedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProfileImageStorageService imageService;
+
+    @Autowired
+    @Qualifier("imageProcessingExecutor")
+    private ExecutorService imageProcessingExecutor;
+
+    @Test
+    void saturatedPoolIsReportedAsUnavailable() throws Exception {
+        assumeThat(imageService.isNegotiable()).isTrue();
+        String imageId = upload(png(64, 48));
+
+        // 작업 하나는 실행 중, 하나는 큐에 → 다음 제출은 거부
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            imageProcessingExecutor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        try {
+            mockMvc.perform(get("/api/images/view/{imageId}", imageId).header(HttpHeaders.ACCEPT, "image/webp"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private String upload(byte[] content) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "small.png", MediaType.IMAGE_PNG_VALUE, content);
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/images/upload").file(file))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.data");
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
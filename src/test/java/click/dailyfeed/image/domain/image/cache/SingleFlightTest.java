@@ -0,0 +1,147 @@
+package click.dailyfeed.image.domain.image.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 64;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+    }
+
+    @Test
+    void concurrentMissesOnSameKeyRunLoaderOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return singleFlight.execute("variant", "image-1-128x128-cover", () -> {
+                        loads.incrementAndGet();
+                        await(release);
+                        return new byte[]{1, 2, 3};
+                    });
+                }));
+            }
+            start.countDown();
+
+            // leader 가 loader 안에서 멈춰 있는 동안 나머지 전부가 대기자로 합류할 때까지 기다린다
+            waitUntil(() -> coalesced("variant") == CALLERS - 1);
+            release.countDown();
+
+            byte[] first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.singleflight.loads").tag("name", "variant").counter().count()).isEqualTo(1);
+        assertThat(coalesced("variant")).isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("image.singleflight.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void differentKeysAreLoadedIndependently() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String key = "image-" + i;
+                results.add(callers.submit(() -> singleFlight.execute("thumbnail", key, () -> {
+                    loads.incrementAndGet();
+                    return key;
+                })));
+            }
+            for (int i = 0; i < 8; i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("image-" + i);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(8);
+    }
+
+    @Test
+    void loaderFailureIsPropagatedToWaitersAndKeyIsReleased() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = callers.submit(() -> singleFlight.execute("variant", "broken", () -> {
+                await(release);
+                throw new IllegalStateException("decode failed");
+            }));
+            waitUntil(() -> meterRegistry.get("image.singleflight.inflight").gauge().value() == 1);
+
+            Future<Object> waiter = callers.submit(() -> singleFlight.execute("variant", "broken", () -> "unexpected"));
+            waitUntil(() -> coalesced("variant") == 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // 실패한 키는 비워져 다음 요청이 다시 로드한다
+        assertThat(singleFlight.execute("variant", "broken", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private double coalesced(String name) {
+        return meterRegistry.find("image.singleflight.coalesced").tag("name", name).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package click.dailyfeed.image.domain.image.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageDigestIndexTest {
+
+    private static final String DIGEST = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @TempDir
+    Path imageRoot;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageDigestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new ImageDigestIndex(imageRoot.toString(), "local", true, meterRegistry);
+    }
+
+    @Test
+    void duplicateUploadResolvesToRegisteredImage() {
+        assertThat(index.acquireOrNull(DIGEST, id -> true)).isNull();
+        index.register(DIGEST, "image-1");
+
+        assertThat(index.acquireOrNull(DIGEST, id -> true)).isEqualTo("image-1");
+        assertThat(meterRegistry.get("image.upload.dedup").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.upload.dedup").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void filesAreReleasedOnlyWithLastReference() {
+        index.register(DIGEST, "image-1");
+        index.acquireOrNull(DIGEST, id -> true);
+        index.acquireOrNull(DIGEST, id -> true);
+
+        assertThat(index.release("image-1")).isFalse();
+        assertThat(index.release("image-1")).isFalse();
+        assertThat(index.isReferenced("image-1")).isTrue();
+
+        assertThat(index.release("image-1")).isTrue();
+        assertThat(index.isReferenced("image-1")).isFalse();
+        assertThat(index.acquireOrNull(DIGEST, id -> true)).isNull();
+    }
+
+    @Test
+    void unindexedImageCanBeDeleted() {
+        assertThat(index.release("legacy-image")).isTrue();
+        assertThat(index.isReferenced("legacy-image")).isFalse();
+    }
+
+    @Test
+    void staleEntryWithoutFilesIsDropped() {
+        index.register(DIGEST, "image-1");
+
+        assertThat(index.acquireOrNull(DIGEST, id -> false)).isNull();
+        assertThat(index.isReferenced("image-1")).isFalse();
+    }
+
+    @Test
+    void concurrentDuplicateKeepsFirstRegistration() {
+        index.register(DIGEST, "image-1");
+        index.register(DIGEST, "image-2");
+
+        assertThat(index.acquireOrNull(DIGEST, id -> true)).isEqualTo("image-1");
+        // 색인 밖에 남은 중복 이미지는 참조와 무관하게 바로 삭제 가능
+        assertThat(index.release("image-2")).isTrue();
+    }
+
+    @Test
+    void instancesSharingUploadRootSeeEachOthersReferences() throws Exception {
+        // 같은 볼륨을 마운트한 두 파드
+        ImageDigestIndex other = new ImageDigestIndex(imageRoot.toString(), "local", true, new SimpleMeterRegistry());
+        index.register(DIGEST, "image-1");
+
+        int acquires = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < acquires; i++) {
+                ImageDigestIndex target = i % 2 == 0 ? index : other;
+                results.add(executor.submit(() -> target.acquireOrNull(DIGEST, id -> true)));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("image-1");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 어느 파드로 삭제가 가도 마지막 참조 전에는 파일을 지우지 않는다
+        for (int i = 0; i < acquires; i++) {
+            assertThat((i % 2 == 0 ? other : index).release("image-1")).isFalse();
+        }
+        assertThat(other.release("image-1")).isTrue();
+        assertThat(index.isReferenced("image-1")).isFalse();
+    }
+
+    @Test
+    void dedupOnSharedObjectStorageIsRejected() {
+        // upload-root 색인은 파드마다 따로라 s3 객체의 참조 카운트를 공유하지 못한다
+        assertThatThrownBy(() -> new ImageDigestIndex(imageRoot.toString(), "s3", true, meterRegistry))
+                .isInstanceOf(IllegalStateException.class);
+
+        new ImageDigestIndex(imageRoot.toString(), "s3", false, new SimpleMeterRegistry());
+    }
+}
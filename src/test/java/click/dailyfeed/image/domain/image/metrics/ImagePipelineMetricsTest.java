@@ -0,0 +1,60 @@
+package click.dailyfeed.image.domain.image.metrics;
+
+import click.dailyfeed.image.domain.image.type.ImageFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImagePipelineMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ImagePipelineMetrics metrics = new ImagePipelineMetrics(meterRegistry);
+
+    @Test
+    void stageDurationIsTaggedByFormatAndSize() throws Exception {
+        ImagePipelineMetrics.Tags tags = metrics.tagsOf("image/jpg", 100 * 1024);
+
+        String result = metrics.time(ImagePipelineMetrics.Stage.FAST_PATH, tags, () -> "ok");
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(meterRegistry.get("image.pipeline.stage")
+                .tag("stage", "fast-path")
+                .tag("format", "jpeg")
+                .tag("size", "lt512k")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresAreCountedByExceptionTypeAndRethrown() {
+        ImagePipelineMetrics.Tags tags = metrics.tagsOf(ImageFormat.PNG, 10);
+
+        assertThatThrownBy(() -> metrics.run(ImagePipelineMetrics.Stage.WRITE, tags, () -> {
+            throw new IOException("disk full");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(meterRegistry.get("image.pipeline.errors")
+                .tag("stage", "write")
+                .tag("exception", "IOException")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.pipeline.stage").tag("stage", "write").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unsupportedContentTypesShareOneTagValue() {
+        assertThat(metrics.tagsOf("application/x-evil-" + System.nanoTime(), 1).format()).isEqualTo("other");
+        assertThat(metrics.tagsOf((String) null, -1)).isEqualTo(new ImagePipelineMetrics.Tags("unknown", "unknown"));
+    }
+
+    @Test
+    void inFlightGaugeFollowsEnterAndExit() {
+        metrics.enter(ImagePipelineMetrics.Operation.STORE);
+        assertThat(meterRegistry.get("image.pipeline.inflight").tag("operation", "store").gauge().value()).isEqualTo(1);
+
+        metrics.exit(ImagePipelineMetrics.Operation.STORE);
+        assertThat(meterRegistry.get("image.pipeline.inflight").tag("operation", "store").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,122 @@
+package click.dailyfeed.image.domain.image.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DerivedImageQueueTest {
+
+    private static final String IMAGE_ID = "3f2b9c1e-8a4d-4e6f-9b1a-2c3d4e5f6a7b";
+
+    @TempDir
+    Path imageRoot;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<DerivedImageQueue> queues = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        queues.forEach(DerivedImageQueue::shutdown);
+    }
+
+    @Test
+    void processedJobIsRemovedFromDisk() throws Exception {
+        CountDownLatch handled = new CountDownLatch(1);
+        DerivedImageQueue queue = queue(3);
+        queue.start(imageId -> handled.countDown());
+
+        queue.enqueue(IMAGE_ID);
+
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitNotPending(queue);
+        assertThat(pendingJob()).doesNotExist();
+        assertThat(meterRegistry.get("image.derived.queue.jobs").tag("result", "success").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void pendingJobsSurviveRestart() throws Exception {
+        // 처리기 시작 전에 종료된 상황: 작업 파일만 남는다
+        queue(3).enqueue(IMAGE_ID);
+        assertThat(pendingJob()).exists();
+
+        CountDownLatch handled = new CountDownLatch(1);
+        DerivedImageQueue restarted = queue(3);
+        restarted.start(imageId -> {
+            assertThat(imageId).isEqualTo(IMAGE_ID);
+            handled.countDown();
+        });
+
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitNotPending(restarted);
+        assertThat(pendingJob()).doesNotExist();
+    }
+
+    @Test
+    void failingJobIsRetriedThenMovedToFailed() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        DerivedImageQueue queue = queue(3);
+        queue.start(imageId -> {
+            attempts.incrementAndGet();
+            throw new IOException("storage unavailable");
+        });
+
+        queue.enqueue(IMAGE_ID);
+
+        awaitNotPending(queue);
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(pendingJob()).doesNotExist();
+        assertThat(imageRoot.resolve(".queue/derived/failed").resolve(IMAGE_ID)).exists();
+        assertThat(meterRegistry.get("image.derived.queue.jobs").tag("result", "retry").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void jobSucceedsAfterTransientFailure() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        DerivedImageQueue queue = queue(5);
+        queue.start(imageId -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new IOException("transient");
+            }
+        });
+
+        queue.enqueue(IMAGE_ID);
+
+        awaitNotPending(queue);
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(pendingJob()).doesNotExist();
+        try (Stream<Path> failed = Files.list(imageRoot.resolve(".queue/derived/failed"))) {
+            assertThat(failed).isEmpty();
+        }
+    }
+
+    private DerivedImageQueue queue(int maxAttempts) {
+        DerivedImageQueue queue = new DerivedImageQueue(imageRoot.toString(), 1, maxAttempts, 10, meterRegistry);
+        queues.add(queue);
+        return queue;
+    }
+
+    private Path pendingJob() {
+        return imageRoot.resolve(".queue/derived/pending").resolve(IMAGE_ID);
+    }
+
+    private void awaitNotPending(DerivedImageQueue queue) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.isPending(IMAGE_ID) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queue.isPending(IMAGE_ID)).isFalse();
+    }
+}
@@ -0,0 +1,35 @@
+package click.dailyfeed.image.domain.image.service;
+
+import click.dailyfeed.image.domain.image.type.ImageFit;
+import click.dailyfeed.image.domain.image.type.ImageVariant;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageVariantServiceTest {
+
+    private final ImageVariantService imageVariantService = new ImageVariantService(null, null, null, null, null);
+
+    @Test
+    void clampsToSortedAllowList() {
+        ReflectionTestUtils.setField(imageVariantService, "allowedSizes", List.of(256, 64, 128));
+        imageVariantService.sortAllowedSizes();
+
+        assertThat(imageVariantService.resolveVariant(100, null, null))
+                .isEqualTo(new ImageVariant(128, 128, ImageFit.COVER));
+        assertThat(imageVariantService.resolveVariant(10, 1000, null))
+                .isEqualTo(new ImageVariant(64, 256, ImageFit.COVER));
+    }
+
+    @Test
+    void emptyAllowListFailsStartup() {
+        ReflectionTestUtils.setField(imageVariantService, "allowedSizes", List.of());
+
+        assertThatThrownBy(imageVariantService::sortAllowedSizes)
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
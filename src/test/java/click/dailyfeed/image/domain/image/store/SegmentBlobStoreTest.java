@@ -0,0 +1,189 @@
+package click.dailyfeed.image.domain.image.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentBlobStoreTest {
+
+    private static final long SEGMENT_MAX_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void putGetAndDelete() throws Exception {
+        try (SegmentBlobStore store = open()) {
+            store.put("image-1", blob(1, 100));
+            store.put("image-2", blob(2, 200));
+
+            assertThat(store.get("image-1")).isEqualTo(blob(1, 100));
+            assertThat(store.get("image-2")).isEqualTo(blob(2, 200));
+            assertThat(store.get("missing")).isNull();
+
+            assertThat(store.delete("image-1")).isTrue();
+            assertThat(store.delete("image-1")).isFalse();
+            assertThat(store.get("image-1")).isNull();
+            assertThat(store.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void indexIsRebuiltFromSegmentsOnReopen() throws Exception {
+        try (SegmentBlobStore store = open()) {
+            for (int i = 0; i < 30; i++) {
+                store.put("image-" + i, blob(i, 500));
+            }
+            store.put("image-3", blob(99, 300));
+            store.delete("image-5");
+            assertThat(store.segmentCount()).isGreaterThan(1);
+        }
+
+        try (SegmentBlobStore store = open()) {
+            assertThat(store.size()).isEqualTo(29);
+            assertThat(store.get("image-3")).isEqualTo(blob(99, 300));
+            assertThat(store.get("image-5")).isNull();
+            assertThat(store.get("image-29")).isEqualTo(blob(29, 500));
+        }
+    }
+
+    @Test
+    void compactionReclaimsDeadSegmentsAndKeepsLiveData() throws Exception {
+        try (SegmentBlobStore store = open()) {
+            for (int i = 0; i < 30; i++) {
+                store.put("image-" + i, blob(i, 500));
+            }
+            for (int i = 0; i < 30; i++) {
+                if (i % 5 != 0) {
+                    store.delete("image-" + i);
+                }
+            }
+            // 삭제 후 같은 key 를 다시 저장해도 compaction 이 옮긴 tombstone 에 지워지지 않아야 한다
+            store.put("image-1", blob(101, 500));
+            long before = store.totalBytes();
+
+            assertThat(store.compact(0.5)).isPositive();
+            assertThat(store.totalBytes()).isLessThan(before);
+            assertThat(store.get("image-0")).isEqualTo(blob(0, 500));
+            assertThat(store.get("image-25")).isEqualTo(blob(25, 500));
+            assertThat(store.get("image-1")).isEqualTo(blob(101, 500));
+            assertThat(store.get("image-2")).isNull();
+        }
+
+        try (SegmentBlobStore store = open()) {
+            assertThat(store.size()).isEqualTo(7);
+            assertThat(store.get("image-1")).isEqualTo(blob(101, 500));
+            assertThat(store.get("image-2")).isNull();
+            assertThat(store.get("image-10")).isEqualTo(blob(10, 500));
+        }
+    }
+
+    @Test
+    void truncatedTailIsDiscardedOnRecovery() throws Exception {
+        try (SegmentBlobStore store = open()) {
+            store.put("image-1", blob(1, 100));
+            store.put("image-2", blob(2, 100));
+        }
+
+        // 마지막 레코드 쓰기 도중 중단된 상황
+        Path segment = lastSegment();
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 10);
+        }
+
+        try (SegmentBlobStore store = open()) {
+            assertThat(store.get("image-1")).isEqualTo(blob(1, 100));
+            assertThat(store.get("image-2")).isNull();
+
+            store.put("image-3", blob(3, 100));
+            assertThat(store.get("image-3")).isEqualTo(blob(3, 100));
+        }
+
+        try (SegmentBlobStore store = open()) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("image-3")).isEqualTo(blob(3, 100));
+        }
+    }
+
+    @Test
+    void corruptedSealedSegmentFailsRecoveryWithoutTruncating() throws Exception {
+        try (SegmentBlobStore store = open()) {
+            for (int i = 0; i < 30; i++) {
+                store.put("image-" + i, blob(i, 500));
+            }
+            assertThat(store.segmentCount()).isGreaterThan(1);
+        }
+
+        // 봉인된 첫 세그먼트 중간 레코드의 본문 1 바이트 손상
+        Path sealed = firstSegment();
+        long size = Files.size(sealed);
+        flipByte(sealed, size / 2);
+
+        assertThatThrownBy(this::open).isInstanceOf(SegmentBlobStore.CorruptedBlobException.class);
+        assertThat(Files.size(sealed)).isEqualTo(size);
+    }
+
+    @Test
+    void corruptedRecordIsNotServed() throws Exception {
+        try (SegmentBlobStore store = open()) {
+            store.put("image-1", blob(1, 100));
+            store.put("image-2", blob(2, 100));
+
+            // 쓰기 중인 세그먼트의 image-1 본문 손상 (헤더 11 바이트 + key 7 바이트 뒤)
+            flipByte(lastSegment(), 11 + 7 + 10);
+
+            assertThatThrownBy(() -> store.get("image-1")).isInstanceOf(SegmentBlobStore.CorruptedBlobException.class);
+            assertThat(store.get("image-2")).isEqualTo(blob(2, 100));
+
+            // 다시 저장하면 새 레코드가 읽힌다
+            store.put("image-1", blob(1, 100));
+            assertThat(store.get("image-1")).isEqualTo(blob(1, 100));
+        }
+    }
+
+    private SegmentBlobStore open() throws Exception {
+        return new SegmentBlobStore(directory, SEGMENT_MAX_BYTES, false);
+    }
+
+    private Path firstSegment() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().findFirst().orElseThrow();
+        }
+    }
+
+    private static void flipByte(Path segment, long position) throws Exception {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.flip();
+            buffer.put(0, (byte) (buffer.get(0) ^ 0xFF));
+            channel.write(buffer, position);
+        }
+    }
+
+    private Path lastSegment() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.sorted().toList();
+            return segments.get(segments.size() - 1);
+        }
+    }
+
+    private static byte[] blob(int seed, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,43 @@
+package click.dailyfeed.image.domain.image.type;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageFormatTest {
+
+    @Test
+    void webpIsAcceptedOnlyWhenListedExplicitly() {
+        // Chrome/Firefox 이미지 요청
+        assertThat(ImageFormat.WEBP.isAcceptedBy("image/avif,image/webp,image/apng,image/svg+xml,image/*,*/*;q=0.8")).isTrue();
+        assertThat(ImageFormat.WEBP.isAcceptedBy("image/webp,*/*")).isTrue();
+
+        // 와일드카드만 보내는 구형 클라이언트는 저장 포맷으로 응답
+        assertThat(ImageFormat.WEBP.isAcceptedBy("image/*,*/*;q=0.8")).isFalse();
+        assertThat(ImageFormat.WEBP.isAcceptedBy("*/*")).isFalse();
+        assertThat(ImageFormat.WEBP.isAcceptedBy(null)).isFalse();
+    }
+
+    @Test
+    void webpWithZeroQualityIsRejected() {
+        assertThat(ImageFormat.WEBP.isAcceptedBy("image/webp;q=0, image/*")).isFalse();
+    }
+
+    @Test
+    void malformedAcceptHeaderIsIgnored() {
+        assertThat(ImageFormat.WEBP.isAcceptedBy("image/webp;q=")).isFalse();
+    }
+
+    @Test
+    void detectsFormatFromSignature() {
+        assertThat(ImageFormat.detect(new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A})).isEqualTo(ImageFormat.PNG);
+        assertThat(ImageFormat.detect(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0})).isEqualTo(ImageFormat.JPEG);
+        assertThat(ImageFormat.detect("RIFF\0\0\0\0WEBP".getBytes())).isEqualTo(ImageFormat.WEBP);
+    }
+
+    @Test
+    void fileNameKeepsUppercaseExtension() {
+        assertThat(ImageFormat.PNG.withFileName("abc")).isEqualTo("abc.PNG");
+        assertThat(ImageFormat.JPEG.withFileName("abc-thumbnail")).isEqualTo("abc-thumbnail.JPG");
+    }
+}
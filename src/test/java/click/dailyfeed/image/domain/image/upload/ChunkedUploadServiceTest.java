@@ -0,0 +1,221 @@
+package click.dailyfeed.image.domain.image.upload;
+
+import click.dailyfeed.image.domain.image.dto.UploadSessionStatus;
+import click.dailyfeed.image.domain.image.exception.UploadOffsetMismatchException;
+import click.dailyfeed.image.domain.image.exception.UploadSessionBusyException;
+import click.dailyfeed.image.domain.image.exception.UploadSessionNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path imageRoot;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ChunkedUploadService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ChunkedUploadService::shutdown);
+    }
+
+    @Test
+    void chunksAreAssembledInOrder() throws Exception {
+        ChunkedUploadService service = service(86400);
+        byte[] content = content(10);
+        String uploadId = service.create("a.png", "image/png", content.length).uploadId();
+
+        service.append(uploadId, 0, new ByteArrayInputStream(content, 0, 4));
+        UploadSessionStatus status = service.append(uploadId, 4, new ByteArrayInputStream(content, 4, 6));
+
+        assertThat(status.offset()).isEqualTo(10);
+        assertThat(status.complete()).isTrue();
+
+        SpooledUploadFile file = service.complete(uploadId);
+        assertThat(file.getBytes()).isEqualTo(content);
+        assertThat(file.getContentType()).isEqualTo("image/png");
+
+        service.discard(uploadId);
+        assertThat(spoolFiles()).isEmpty();
+    }
+
+    @Test
+    void mismatchedOffsetIsRejectedWithReceivedBytes() throws Exception {
+        ChunkedUploadService service = service(86400);
+        String uploadId = service.create("a.png", "image/png", 10).uploadId();
+        service.append(uploadId, 0, new ByteArrayInputStream(content(4)));
+
+        assertThatThrownBy(() -> service.append(uploadId, 6, new ByteArrayInputStream(content(4))))
+                .isInstanceOf(UploadOffsetMismatchException.class)
+                .extracting(e -> ((UploadOffsetMismatchException) e).getExpectedOffset())
+                .isEqualTo(4L);
+        assertThatThrownBy(() -> service.append(uploadId, 4, new ByteArrayInputStream(content(7))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.status(uploadId).offset()).isEqualTo(4);
+        assertThatThrownBy(() -> service.complete(uploadId)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void finalizingSessionIsBusyUntilReopened() throws Exception {
+        ChunkedUploadService service = service(86400);
+        byte[] content = content(4);
+        String uploadId = service.create("a.png", "image/png", content.length).uploadId();
+        service.append(uploadId, 0, new ByteArrayInputStream(content));
+        service.complete(uploadId);
+
+        assertThatThrownBy(() -> service.complete(uploadId)).isInstanceOf(UploadSessionBusyException.class);
+
+        // 서버 쪽 실패로 다시 열린 세션은 같은 스풀 파일로 다시 완료할 수 있다
+        service.reopen(uploadId);
+        assertThat(service.complete(uploadId).getBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void interruptedChunkKeepsReceivedBytes() throws Exception {
+        ChunkedUploadService service = service(86400);
+        byte[] content = content(10);
+        String uploadId = service.create("a.png", "image/png", content.length).uploadId();
+
+        assertThatThrownBy(() -> service.append(uploadId, 0, droppingAfter(content, 3)))
+                .isInstanceOf(IOException.class);
+        assertThat(service.status(uploadId).offset()).isEqualTo(3);
+
+        service.append(uploadId, 3, new ByteArrayInputStream(content, 3, 7));
+        assertThat(service.complete(uploadId).getBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void slowChunkDoesNotBlockSessionButRejectsConcurrentWriters() throws Exception {
+        ChunkedUploadService service = service(86400);
+        byte[] content = content(10);
+        String uploadId = service.create("a.png", "image/png", content.length).uploadId();
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UploadSessionStatus> slowChunk = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.append(uploadId, 0, stallingAfter(content, 4, reading, release));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 본문을 기다리는 동안에도 상태 조회는 바로 응답하고, 같은 세션의 다른 쓰기는 409
+        assertThat(service.status(uploadId).offset()).isZero();
+        assertThatThrownBy(() -> service.append(uploadId, 0, new ByteArrayInputStream(content)))
+                .isInstanceOf(UploadSessionBusyException.class);
+        assertThatThrownBy(() -> service.complete(uploadId)).isInstanceOf(UploadSessionBusyException.class);
+
+        release.countDown();
+        assertThat(slowChunk.get(5, TimeUnit.SECONDS).offset()).isEqualTo(4);
+        service.append(uploadId, 4, new ByteArrayInputStream(content, 4, 6));
+        assertThat(service.complete(uploadId).getBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void abandonedSessionsAndOrphanSpoolFilesAreSwept() throws Exception {
+        ChunkedUploadService service = service(0);
+        String uploadId = service.create("a.png", "image/png", 10).uploadId();
+        Files.write(imageRoot.resolve(".uploads/left-over-from-restart.part"), content(3));
+
+        service.sweep();
+
+        assertThat(spoolFiles()).isEmpty();
+        assertThatThrownBy(() -> service.status(uploadId)).isInstanceOf(UploadSessionNotFoundException.class);
+        assertThat(meterRegistry.get("image.upload.sessions.expired").counter().count()).isEqualTo(2);
+    }
+
+    private ChunkedUploadService service(long sessionTtlSeconds) throws IOException {
+        ChunkedUploadService service = new ChunkedUploadService(
+                imageRoot.toString(), 1024, 8, sessionTtlSeconds, 3600, meterRegistry);
+        service.start();
+        services.add(service);
+        return service;
+    }
+
+    private List<Path> spoolFiles() throws IOException {
+        try (var files = Files.list(imageRoot.resolve(".uploads"))) {
+            return files.toList();
+        }
+    }
+
+    private static byte[] content(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i + 1);
+        }
+        return bytes;
+    }
+
+    /// count 바이트를 보낸 뒤 연결이 끊기는 요청 본문
+    private static InputStream droppingAfter(byte[] content, int count) {
+        return new InputStream() {
+            private final InputStream delegate = new ByteArrayInputStream(Arrays.copyOf(content, count));
+
+            @Override
+            public int read() throws IOException {
+                int read = delegate.read();
+                if (read == -1) {
+                    throw new IOException("connection reset");
+                }
+                return read;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = delegate.read(b, off, len);
+                if (read == -1) {
+                    throw new IOException("connection reset");
+                }
+                return read;
+            }
+        };
+    }
+
+    /// count 바이트를 보낸 뒤 release 될 때까지 다음 바이트를 기다리는 요청 본문
+    private static InputStream stallingAfter(byte[] content, int count, CountDownLatch reading, CountDownLatch release) {
+        return new InputStream() {
+            private final InputStream delegate = new ByteArrayInputStream(Arrays.copyOf(content, count));
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = delegate.read(b, off, len);
+                if (read == -1) {
+                    reading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                }
+                return read;
+            }
+        };
+    }
+}
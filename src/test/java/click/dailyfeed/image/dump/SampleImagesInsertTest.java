@@ -8,13 +8,20 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 
 import java.io.FileInputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("local-was-test")
@@ -41,8 +48,13 @@ public class SampleImagesInsertTest {
                         fis
                 );
 
-                mockMvc.perform(multipart("/api/images/upload/profile")
+                // 업로드는 이미지 처리 전용 풀에서 비동기로 처리됨
+                MvcResult asyncResult = mockMvc.perform(multipart("/api/images/upload/profile")
                                 .file(file))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+                mockMvc.perform(asyncDispatch(asyncResult))
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$.result").value("SUCCESS"))
                         .andExpect(jsonPath("$.status").value(200))
@@ -53,6 +65,37 @@ public class SampleImagesInsertTest {
         }
     }
 
+    @Test
+    void uploadSampleImagesInBatches() throws Exception {
+        String sampleImagesDir = "src/test/resources/sample_images";
+        int batchSize = 5;
+
+        for (int first = 1; first <= 47; first += batchSize) {
+            MockMultipartHttpServletRequestBuilder batch = multipart("/api/images/upload/batch");
+            int last = Math.min(first + batchSize - 1, 47);
+            for (int i = first; i <= last; i++) {
+                String fileName = i + ".png";
+                try (FileInputStream fis = new FileInputStream(Paths.get(sampleImagesDir, fileName).toFile())) {
+                    batch.file(new MockMultipartFile("image", fileName, MediaType.IMAGE_PNG_VALUE, fis));
+                }
+            }
+
+            MvcResult asyncResult = mockMvc.perform(batch)
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // 항목별 결과는 요청한 파트 순서대로
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(last - first + 1))
+                    .andExpect(jsonPath("$.data[0].fileName").value(first + ".png"))
+                    .andExpect(jsonPath("$.data[*].imageId", everyItem(notNullValue())))
+                    .andExpect(jsonPath("$.data[*].status", everyItem(is(200))));
+
+            System.out.println("Uploaded batch: " + first + ".." + last);
+        }
+    }
+
     @Test
     void printNonThumbnailImageFiles() throws Exception {
         String imageStorePath = "./tmp/dailyfeed/store/images";
@@ -66,10 +109,12 @@ public class SampleImagesInsertTest {
         System.out.println("=== Non-Thumbnail Image Files ===");
 
         try (java.util.stream.Stream<Path> paths = java.nio.file.Files.walk(imagesDir)) {
+            // 샤딩 배치(ab/cd/<id>.JPG|PNG)와 이전 평면 배치 모두 포함, 변형 이미지 디렉토리는 제외
             paths.filter(java.nio.file.Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".PNG"))
+                    .filter(path -> !path.startsWith(imagesDir.resolve("variants")))
+                    .filter(path -> path.toString().endsWith(".PNG") || path.toString().endsWith(".JPG"))
                     .filter(path -> !path.getFileName().toString().contains("-thumbnail"))
-                    .forEach(path -> System.out.println(path.getFileName().toString().replace(".PNG", "")));
+                    .forEach(path -> System.out.println(path.getFileName().toString().replaceAll("\\.(PNG|JPG)$", "")));
         }
     }
 
@@ -0,0 +1,117 @@
+package click.dailyfeed.image.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.UrlResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/// 원본 이미지 전송 경로 비교: UrlResource 스트림 복사(기존) vs FileChannel.transferTo(sendfile)
+/// 루프백 소켓으로 같은 파일을 반복 전송하고 처리량(MB/s)과 전송 스레드 CPU 시간을 출력
+/// ./gradlew loadTest --tests '*FileTransferBenchmarkTest'
+@Tag("load")
+public class FileTransferBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURE_ITERATIONS = 20_000;
+
+    @Test
+    void compareUrlResourceCopyAndZeroCopyTransfer() throws Exception {
+        Path image = largestSampleImage();
+        long size = Files.size(image);
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            Thread drain = startDrain(server);
+
+            try (SocketChannel socket = SocketChannel.open(server.getLocalAddress())) {
+                run(socket, image, WARMUP_ITERATIONS, false);
+                run(socket, image, WARMUP_ITERATIONS, true);
+
+                Result urlResource = run(socket, image, MEASURE_ITERATIONS, false);
+                Result zeroCopy = run(socket, image, MEASURE_ITERATIONS, true);
+
+                System.out.println(urlResource.format("UrlResource stream copy", size));
+                System.out.println(zeroCopy.format("FileChannel.transferTo", size));
+                System.out.printf("zero-copy/stream throughput: %.2fx, cpu per transfer: %.2fx%n",
+                        zeroCopy.throughput(size) / urlResource.throughput(size),
+                        (double) zeroCopy.cpuNanos / urlResource.cpuNanos);
+            }
+            drain.interrupt();
+        }
+    }
+
+    private Result run(SocketChannel socket, Path image, int iterations, boolean zeroCopy) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        OutputStream socketOut = Channels.newOutputStream(socket);
+
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long wallStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (zeroCopy) {
+                try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = channel.size();
+                    while (position < size) {
+                        position += channel.transferTo(position, size - position, socket);
+                    }
+                }
+            } else {
+                try (InputStream in = new UrlResource(image.toUri()).getInputStream()) {
+                    in.transferTo(socketOut);
+                }
+            }
+        }
+        return new Result(iterations, System.nanoTime() - wallStart, threads.getCurrentThreadCpuTime() - cpuStart);
+    }
+
+    private Thread startDrain(ServerSocketChannel server) {
+        Thread drain = new Thread(() -> {
+            try (SocketChannel peer = server.accept()) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+                while (!Thread.currentThread().isInterrupted() && peer.read(buffer) >= 0) {
+                    buffer.clear();
+                }
+            } catch (IOException ignored) {
+                // 전송 측 소켓이 닫히면 종료
+            }
+        }, "transfer-benchmark-drain");
+        drain.setDaemon(true);
+        drain.start();
+        return drain;
+    }
+
+    private Path largestSampleImage() throws IOException {
+        try (Stream<Path> paths = Files.list(Paths.get("src/test/resources/sample_images"))) {
+            return paths.max(Comparator.comparingLong(path -> path.toFile().length()))
+                    .orElseThrow();
+        }
+    }
+
+    private record Result(int iterations, long wallNanos, long cpuNanos) {
+        double throughput(long fileSize) {
+            return (fileSize * (double) iterations / (1024 * 1024)) / (wallNanos / 1e9);
+        }
+
+        String format(String label, long fileSize) {
+            return String.format("[%s] file=%d bytes, iterations=%d, throughput=%.1f MB/s, cpu=%.1f us/transfer",
+                    label, fileSize, iterations, throughput(fileSize), cpuNanos / 1e3 / iterations);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package click.dailyfeed.image.load;
+
+import click.dailyfeed.image.domain.file.service.ImageStorageLayout;
+import click.dailyfeed.image.domain.file.storage.LocalObjectStorage;
+import click.dailyfeed.image.domain.image.store.FileThumbnailStore;
+import click.dailyfeed.image.domain.image.store.SegmentBlobStore;
+import click.dailyfeed.image.domain.image.store.ThumbnailStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LongSummaryStatistics;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/// 썸네일 저장 방식 비교: 썸네일당 파일 하나(FileThumbnailStore) vs 세그먼트 파일(SegmentBlobStore)
+/// 약 10KB blob 을 쓰고 무작위로 읽어 처리량(ops/s)과 생성된 파일 수/바이트를 출력
+/// ./gradlew loadTest --tests '*ThumbnailStoreBenchmarkTest'
+@Tag("load")
+public class ThumbnailStoreBenchmarkTest {
+
+    private static final int BLOB_COUNT = 20_000;
+    private static final int BLOB_SIZE = 10 * 1024;
+    private static final int READ_COUNT = 100_000;
+    private static final long SEGMENT_MAX_BYTES = 256L * 1024 * 1024;
+
+    @TempDir
+    Path fileRoot;
+
+    @TempDir
+    Path segmentRoot;
+
+    @Test
+    void compareFilePerThumbnailAndSegmentStore() throws Exception {
+        String[] ids = new String[BLOB_COUNT];
+        for (int i = 0; i < BLOB_COUNT; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+        byte[] blob = jpegLikeBlob();
+
+        ImageStorageLayout layout = new ImageStorageLayout(fileRoot.toString());
+        ThumbnailStore fileStore = new FileThumbnailStore(new LocalObjectStorage(layout), layout);
+        System.out.println(run("file per thumbnail", fileRoot, ids, blob,
+                fileStore::put, fileStore::getOrNull));
+
+        try (SegmentBlobStore segmentStore = new SegmentBlobStore(segmentRoot, SEGMENT_MAX_BYTES, false)) {
+            System.out.println(run("segment blob store", segmentRoot, ids, blob,
+                    segmentStore::put, segmentStore::get));
+        }
+    }
+
+    private String run(String name, Path root, String[] ids, byte[] blob, Writer writer, Reader reader) throws IOException {
+        long writeStart = System.nanoTime();
+        for (String id : ids) {
+            writer.put(id, blob);
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long readBytes = 0;
+        long readStart = System.nanoTime();
+        for (int i = 0; i < READ_COUNT; i++) {
+            readBytes += reader.get(ids[random.nextInt(ids.length)]).length;
+        }
+        long readNanos = System.nanoTime() - readStart;
+
+        LongSummaryStatistics files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).mapToLong(ThumbnailStoreBenchmarkTest::sizeOf).summaryStatistics();
+        }
+
+        return String.format("%-20s write: %,10.0f ops/s, random read: %,10.0f ops/s (%d MB), files: %,d, bytes: %,d",
+                name, ids.length / (writeNanos / 1e9), READ_COUNT / (readNanos / 1e9),
+                readBytes / (1024 * 1024), files.getCount(), files.getSum());
+    }
+
+    /// 시그니처로 포맷을 판별하므로 JPEG 시그니처로 시작하는 blob
+    private byte[] jpegLikeBlob() {
+        byte[] blob = new byte[BLOB_SIZE];
+        ThreadLocalRandom.current().nextBytes(blob);
+        blob[0] = (byte) 0xFF;
+        blob[1] = (byte) 0xD8;
+        blob[2] = (byte) 0xFF;
+        return blob;
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void put(String id, byte[] bytes) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader {
+        byte[] get(String id) throws IOException;
+    }
+}
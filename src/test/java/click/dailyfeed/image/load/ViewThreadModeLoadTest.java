@@ -0,0 +1,150 @@
+package click.dailyfeed.image.load;
+
+import click.dailyfeed.image.ImageApplication;
+import click.dailyfeed.image.domain.image.service.ProfileImageStorageService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.FileInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// 플랫폼 스레드(기본) vs 가상 스레드 모드에서 /api/images/view 처리량과 p99 지연 비교
+/// ./gradlew loadTest -PjavaVersion=21 -Pload.concurrency=128 -Pload.seconds=30
+@Tag("load")
+public class ViewThreadModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 3);
+    private static final int MEASURE_SECONDS = Integer.getInteger("load.seconds", 10);
+
+    @Test
+    void compareViewThroughputAndP99() throws Exception {
+        LoadResult platform = runAgainst(false);
+        System.out.println(platform.format("platform"));
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Virtual thread mode requires Java 21+ (running " + Runtime.version() + "), skipping comparison");
+            return;
+        }
+
+        LoadResult virtual = runAgainst(true);
+        System.out.println(virtual.format("virtual"));
+        System.out.printf("virtual/platform throughput: %.2fx, p99: %.2fx%n",
+                virtual.throughput() / platform.throughput(),
+                (double) virtual.p99Micros() / platform.p99Micros());
+    }
+
+    private LoadResult runAgainst(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ImageApplication.class)
+                .profiles("local-was-test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads
+                )
+                .run()) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String imageId = uploadSampleImage(context.getBean(ProfileImageStorageService.class));
+            URI viewUri = URI.create("http://localhost:" + port + "/api/images/view/" + imageId);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            drive(client, viewUri, Duration.ofSeconds(WARMUP_SECONDS));
+            return drive(client, viewUri, Duration.ofSeconds(MEASURE_SECONDS));
+        }
+    }
+
+    private String uploadSampleImage(ProfileImageStorageService imageService) throws Exception {
+        Path imagePath = Paths.get("src/test/resources/sample_images", "1.png");
+        try (FileInputStream fis = new FileInputStream(imagePath.toFile())) {
+            MockMultipartFile file = new MockMultipartFile("image", "1.png", MediaType.IMAGE_PNG_VALUE, fis);
+            return imageService.store(file);
+        }
+    }
+
+    private LoadResult drive(HttpClient client, URI uri, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(workers.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        long elapsed = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            List<long[]> perWorker = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                perWorker.add(future.get());
+            }
+            long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new LoadResult(all, duration, errors.get());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private record LoadResult(long[] sortedLatenciesNanos, Duration duration, long errors) {
+        double throughput() {
+            return sortedLatenciesNanos.length / (double) duration.toSeconds();
+        }
+
+        long p99Micros() {
+            if (sortedLatenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(sortedLatenciesNanos.length * 0.99) - 1;
+            return sortedLatenciesNanos[Math.max(0, index)] / 1_000;
+        }
+
+        long p50Micros() {
+            if (sortedLatenciesNanos.length == 0) {
+                return 0;
+            }
+            return sortedLatenciesNanos[sortedLatenciesNanos.length / 2] / 1_000;
+        }
+
+        String format(String label) {
+            return String.format("[%s] concurrency=%d, requests=%d, errors=%d, throughput=%.1f req/s, p50=%dus, p99=%dus",
+                    label, CONCURRENCY, sortedLatenciesNanos.length, errors, throughput(), p50Micros(), p99Micros());
+        }
+    }
+}